@@ -0,0 +1,44 @@
+-- Migración de identificadores UUID de VARCHAR(36) a BINARY(16)
+-- H2 Database. Ejecutar con la aplicación detenida y luego iniciarla con persistence.uuid.storage=binary
+-- Los identificadores existentes conservan su valor; los nuevos registros se generan ordenados por tiempo (UUID v7)
+CREATE TABLE users_binary (
+    id BINARY(16) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created TIMESTAMP NOT NULL,
+    modified TIMESTAMP NOT NULL,
+    last_login TIMESTAMP NOT NULL,
+    token VARCHAR(500) NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+INSERT INTO users_binary (id, name, email, password, created, modified, last_login, token, is_active)
+SELECT CAST(CAST(id AS UUID) AS BINARY(16)), name, email, password, created, modified, last_login, token, is_active
+FROM users;
+
+CREATE TABLE phones_binary (
+    id BINARY(16) PRIMARY KEY,
+    number VARCHAR(20) NOT NULL,
+    citycode VARCHAR(10) NOT NULL,
+    countrycode VARCHAR(10) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users_binary(id) ON DELETE CASCADE
+);
+
+INSERT INTO phones_binary (id, number, citycode, countrycode, user_id)
+SELECT CAST(CAST(id AS UUID) AS BINARY(16)), number, citycode, countrycode, CAST(CAST(user_id AS UUID) AS BINARY(16))
+FROM phones;
+
+DROP TABLE phones;
+DROP TABLE users;
+
+ALTER TABLE users_binary RENAME TO users;
+ALTER TABLE phones_binary RENAME TO phones;
+
+-- Se agrega tras borrar la tabla original, que ya tiene una restricción con este nombre
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+
+CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_users_created_id ON users(created, id);
+CREATE INDEX IF NOT EXISTS idx_phones_user_id ON phones(user_id);
@@ -3,13 +3,14 @@
 CREATE TABLE IF NOT EXISTS users (
     id VARCHAR(36) PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
     created TIMESTAMP NOT NULL,
     modified TIMESTAMP NOT NULL,
     last_login TIMESTAMP NOT NULL,
     token VARCHAR(500) NOT NULL,
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_users_email UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS phones (
@@ -21,7 +22,21 @@ CREATE TABLE IF NOT EXISTS phones (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS revoked_subjects (
+    subject VARCHAR(255) PRIMARY KEY,
+    issued_until BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_users_created_id ON users(created, id);
 CREATE INDEX IF NOT EXISTS idx_phones_user_id ON phones(user_id);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_subjects_expires_at ON revoked_subjects(expires_at);
 
 
@@ -0,0 +1,122 @@
+package com.bci.userapi.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login = ? WHERE email = ? AND last_login < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPending;
+    private final int batchSize;
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter dropped;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${last-login.max-pending}") int maxPending,
+                             @Value("${last-login.batch-size}") int batchSize) {
+        if (maxPending <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("La configuración de last-login debe ser mayor a cero");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        this.flushTimer = Timer.builder("last.login.flush").register(meterRegistry);
+        this.flushedRows = Counter.builder("last.login.flushed").register(meterRegistry);
+        this.dropped = Counter.builder("last.login.dropped").register(meterRegistry);
+        Gauge.builder("last.login.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public boolean record(String email) {
+        return record(email, LocalDateTime.now());
+    }
+
+    public boolean record(String email, LocalDateTime seenAt) {
+        if (pending.size() >= maxPending && !pending.containsKey(email)) {
+            dropped.increment();
+            return false;
+        }
+        pending.merge(email, seenAt, LastLoginRecorder::latest);
+        return true;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${last-login.flush-interval}")
+    public int flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(pending.size());
+            for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+                String email = entry.getKey();
+                LocalDateTime seenAt = entry.getValue();
+                if (pending.remove(email, seenAt)) {
+                    batch.add(new AbstractMap.SimpleImmutableEntry<>(email, seenAt));
+                }
+            }
+
+            Timer.Sample sample = Timer.start();
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch, batchSize, (ps, entry) -> {
+                    Timestamp seenAt = Timestamp.valueOf(entry.getValue());
+                    ps.setTimestamp(1, seenAt);
+                    ps.setString(2, entry.getKey());
+                    ps.setTimestamp(3, seenAt);
+                });
+                flushedRows.increment(batch.size());
+                return batch.size();
+            } catch (DataAccessException ex) {
+                logger.error("Error al actualizar último login de {} usuarios - Error: {}", batch.size(), ex.getMessage(), ex);
+                for (Map.Entry<String, LocalDateTime> entry : batch) {
+                    pending.merge(entry.getKey(), entry.getValue(), LastLoginRecorder::latest);
+                }
+                return 0;
+            } finally {
+                sample.stop(flushTimer);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush();
+        logger.info("Último login de {} usuarios guardado al detener la aplicación", flushed);
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,140 @@
+package com.bci.userapi.bloom;
+
+import com.bci.userapi.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter absentChecks;
+    private final Counter maybeChecks;
+    private final Counter falsePositives;
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final Object rebuildLock = new Object();
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    public EmailBloomFilter(UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${email-filter.expected-insertions}") long expectedInsertions,
+                            @Value("${email-filter.false-positive-rate}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.absentChecks = Counter.builder("email.filter.checks").tag("result", "absent").register(meterRegistry);
+        this.maybeChecks = Counter.builder("email.filter.checks").tag("result", "maybe").register(meterRegistry);
+        this.falsePositives = Counter.builder("email.filter.false.positives").register(meterRegistry);
+        Gauge.builder("email.filter.memory", this, EmailBloomFilter::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.expected.fpp", this, EmailBloomFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+        Gauge.builder("email.filter.entries", this, EmailBloomFilter::entries)
+                .register(meterRegistry);
+        Gauge.builder("email.filter.stale.entries", staleEntries, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    public long rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+            building = next;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<String> emails = userRepository.streamAllEmails()) {
+                        emails.forEach(next::put);
+                    }
+                });
+                current = next;
+                staleEntries.set(0);
+                logger.info("Filtro de correos reconstruido con {} registros en {} ms ({} bytes, {} funciones hash)",
+                        next.insertions(), System.currentTimeMillis() - start, next.memoryBytes(), next.hashFunctions());
+                return next.insertions();
+            } finally {
+                building = null;
+            }
+        }
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(email)) {
+            maybeChecks.increment();
+            return true;
+        }
+        absentChecks.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(email);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    public void markStale() {
+        staleEntries.incrementAndGet();
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public long entries() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.insertions();
+    }
+
+    public long staleEntries() {
+        return staleEntries.get();
+    }
+
+    public long memoryBytes() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.memoryBytes();
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter == null ? 1.0 : filter.expectedFalsePositiveRate();
+    }
+}
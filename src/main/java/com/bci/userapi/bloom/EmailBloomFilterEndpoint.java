@@ -0,0 +1,37 @@
+package com.bci.userapi.bloom;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "emailfilter")
+public class EmailBloomFilterEndpoint {
+
+    private final EmailBloomFilter emailBloomFilter;
+
+    public EmailBloomFilterEndpoint(EmailBloomFilter emailBloomFilter) {
+        this.emailBloomFilter = emailBloomFilter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", emailBloomFilter.isReady());
+        stats.put("entries", emailBloomFilter.entries());
+        stats.put("staleEntries", emailBloomFilter.staleEntries());
+        stats.put("memoryBytes", emailBloomFilter.memoryBytes());
+        stats.put("expectedFalsePositiveRate", emailBloomFilter.expectedFalsePositiveRate());
+        return stats;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        emailBloomFilter.rebuild();
+        return stats();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bci.userapi.breach;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+// Sorted file of fixed-width hash prefixes (ascending, unsigned), mapped read-only and searched in place.
+// Files over 2 GB are mapped as several segments, each holding a whole number of records.
+public final class BreachedHashFile {
+
+    public static final int SHA1_BYTES = 20;
+
+    private final Path path;
+    private final int recordBytes;
+    private final long records;
+    private final int recordsPerSegment;
+    private final ByteBuffer[] segments;
+    private final FileTime lastModified;
+    private final long fileSize;
+
+    private BreachedHashFile(Path path, int recordBytes, long records, int recordsPerSegment,
+                             ByteBuffer[] segments, FileTime lastModified, long fileSize) {
+        this.path = path;
+        this.recordBytes = recordBytes;
+        this.records = records;
+        this.recordsPerSegment = recordsPerSegment;
+        this.segments = segments;
+        this.lastModified = lastModified;
+        this.fileSize = fileSize;
+    }
+
+    public static BreachedHashFile open(Path path, int recordBytes) throws IOException {
+        return open(path, recordBytes, Integer.MAX_VALUE);
+    }
+
+    static BreachedHashFile open(Path path, int recordBytes, int maxSegmentBytes) throws IOException {
+        if (recordBytes < 1 || recordBytes > SHA1_BYTES) {
+            throw new IllegalArgumentException("El largo del hash debe estar entre 1 y " + SHA1_BYTES + " bytes");
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size != attributes.size() || size % recordBytes != 0) {
+                throw new IllegalArgumentException("El tamaño de " + path + " no es múltiplo de " + recordBytes + " bytes");
+            }
+            long records = size / recordBytes;
+            int recordsPerSegment = maxSegmentBytes / recordBytes;
+            int segmentCount = (int) ((records + recordsPerSegment - 1) / recordsPerSegment);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i * recordsPerSegment * recordBytes;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min((long) recordsPerSegment * recordBytes, size - start));
+            }
+            return new BreachedHashFile(path, recordBytes, records, recordsPerSegment, segments,
+                    attributes.lastModifiedTime(), size);
+        }
+    }
+
+    // Only the first recordBytes bytes of the hash are compared
+    public boolean contains(byte[] hash) {
+        long low = 0;
+        long high = records - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int comparison = compare(middle, hash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int compare(long record, byte[] hash) {
+        ByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        int offset = (int) (record % recordsPerSegment) * recordBytes;
+        for (int i = 0; i < recordBytes; i++) {
+            int difference = (segment.get(offset + i) & 0xFF) - (hash[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    public boolean isCurrent(BasicFileAttributes attributes) {
+        return attributes.size() == fileSize && attributes.lastModifiedTime().equals(lastModified);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRecordBytes() {
+        return recordBytes;
+    }
+
+    public long size() {
+        return records;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bci.userapi.cache;
+
+import com.bci.userapi.config.SecondLevelCacheConfig;
+import com.bci.userapi.entity.Phone;
+import com.bci.userapi.entity.User;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.CollectionDataAccess;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class UserEntityCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    public UserEntityCache(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+    }
+
+    // Evicts the user, its phone collection and only the phones that collection lists, once the transaction commits
+    public void evict(UUID id) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            evict(id, Collections.emptyList());
+            return;
+        }
+        List<Serializable> phoneIds = cachedPhoneIds(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id, phoneIds);
+            }
+        });
+    }
+
+    private void evict(UUID id, List<Serializable> phoneIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(User.class, id);
+        cache.evictCollectionData(SecondLevelCacheConfig.USER_PHONES_REGION, id);
+        for (Serializable phoneId : phoneIds) {
+            cache.evictEntityData(Phone.class, phoneId);
+        }
+    }
+
+    // Phones are only reachable through the cached collection, so an uncached collection leaves no phone to evict
+    private List<Serializable> cachedPhoneIds(UUID id) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        CollectionPersister persister = session.getFactory().getMetamodel()
+                .collectionPersister(SecondLevelCacheConfig.USER_PHONES_REGION);
+        CollectionDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        Object entry = access.get(session, key);
+        return entry instanceof CollectionCacheEntry
+                ? Arrays.asList(((CollectionCacheEntry) entry).getState())
+                : Collections.emptyList();
+    }
+}
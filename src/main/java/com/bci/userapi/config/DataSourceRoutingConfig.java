@@ -0,0 +1,74 @@
+package com.bci.userapi.config;
+
+import com.bci.userapi.datasource.ReadWriteRoutingDataSource;
+import com.bci.userapi.datasource.ReplicaDataSource;
+import com.bci.userapi.datasource.ReplicaLagMonitor;
+import com.bci.userapi.datasource.ReplicaPool;
+import com.bci.userapi.datasource.RoutingDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(RoutingDataSourceProperties properties) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("Debe configurar al menos una réplica en datasource.routing.replicas");
+        }
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            String name = "replica-" + i;
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaDataSource(name, dataSource));
+        }
+        return new ReplicaPool(replicas, properties.getStrategy());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPool replicaPool,
+                                               RoutingDataSourceProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaPool, properties.getLagQuery(), properties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaPool);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,70 @@
+package com.bci.userapi.config;
+
+import com.bci.userapi.entity.Phone;
+import com.bci.userapi.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USER_REGION = User.class.getName();
+    public static final String USER_PHONES_REGION = User.class.getName() + ".phones";
+    public static final String PHONE_REGION = Phone.class.getName();
+
+    static final List<String> REGIONS = Arrays.asList(USER_REGION, USER_PHONES_REGION, PHONE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${cache.users.max-size}") long userMaxSize,
+                                              @Value("${cache.users.ttl}") Duration userTtl,
+                                              @Value("${cache.phones.max-size}") long phoneMaxSize,
+                                              @Value("${cache.phones.ttl}") Duration phoneTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("user-api-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USER_REGION, regionConfiguration(userMaxSize, userTtl));
+        cacheManager.createCache(USER_PHONES_REGION, regionConfiguration(userMaxSize, userTtl));
+        cacheManager.createCache(PHONE_REGION, regionConfiguration(phoneMaxSize, phoneTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region)));
+    }
+
+    static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser mayor a cero");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("El tiempo de vida de la caché debe ser mayor a cero");
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
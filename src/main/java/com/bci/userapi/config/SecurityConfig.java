@@ -1,44 +1,124 @@
 package com.bci.userapi.config;
 
+import com.bci.userapi.activity.LastLoginRecorder;
+import com.bci.userapi.security.BcryptCostCalibrator;
+import com.bci.userapi.security.JwtAuthenticationEntryPoint;
+import com.bci.userapi.security.JwtAuthenticationFilter;
+import com.bci.userapi.security.PasswordAlgorithm;
+import com.bci.userapi.security.PasswordEncoderFactory;
+import com.bci.userapi.security.PasswordEncodingProperties;
+import com.bci.userapi.security.PasswordHashingExecutor;
+import com.bci.userapi.service.IJWTService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(PasswordEncodingProperties.class)
 public class SecurityConfig {
 
+    // Actuator endpoints other than health only accept the configured admin over HTTP Basic; user JWTs never apply here
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                                                           @Value("${actuator.admin.username}") String username,
+                                                           @Value("${actuator.admin.password-hash}") String passwordHash,
+                                                           PasswordEncoder passwordEncoder) throws Exception {
+        InMemoryUserDetailsManager admins = new InMemoryUserDetailsManager();
+        if (!passwordHash.isEmpty()) {
+            admins.createUser(User.withUsername(username).password(passwordHash).roles("ADMIN").build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(admins);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        http
+            .requestMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            .and()
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .httpBasic()
+            .and()
+            .authenticationManager(new ProviderManager(provider));
+
+        return http.build();
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   IJWTService jwtService,
+                                                   LastLoginRecorder lastLoginRecorder,
+                                                   ObjectMapper objectMapper) throws Exception {
+        JwtAuthenticationEntryPoint authenticationEntryPoint = new JwtAuthenticationEntryPoint(objectMapper);
         http
             .csrf().disable()
             .cors().and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and()
             .authorizeHttpRequests(auth -> auth
-                .antMatchers("/api/users/**").permitAll()
+                .antMatchers(HttpMethod.POST, "/api/users", "/api/users/login").permitAll()
                 .antMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
                 .antMatchers("/h2-console/**").permitAll()
                 .anyRequest().authenticated()
             )
+            .exceptionHandling().authenticationEntryPoint(authenticationEntryPoint)
+            .and()
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, lastLoginRecorder, authenticationEntryPoint),
+                    UsernamePasswordAuthenticationFilter.class)
             .headers().frameOptions().sameOrigin();
 
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "close")
+    public PasswordHashingExecutor passwordEncoder(@Value("${password-hashing.threads}") int threads,
+                                                   @Value("${password-hashing.queue-capacity}") int queueCapacity,
+                                                   @Value("${password-hashing.retry-after}") Duration retryAfter,
+                                                   PasswordEncodingProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        PasswordEncodingProperties.Bcrypt bcrypt = properties.getBcrypt();
+        if (bcrypt.isCalibrate() && properties.getAlgorithm() == PasswordAlgorithm.BCRYPT) {
+            bcrypt.setStrength(new BcryptCostCalibrator(bcrypt.getTarget(), bcrypt.getTolerance(),
+                    bcrypt.getMinStrength(), bcrypt.getMaxStrength()).calibrate());
+        }
+        if (bcrypt.getStrength() < bcrypt.getMinStrength()) {
+            throw new IllegalArgumentException("password-encoding.bcrypt.strength no puede ser menor que "
+                    + bcrypt.getMinStrength());
+        }
+        Gauge.builder("password.encoding.bcrypt.strength", bcrypt, PasswordEncodingProperties.Bcrypt::getStrength)
+                .register(meterRegistry);
+
+        return new PasswordHashingExecutor(PasswordEncoderFactory.create(properties),
+                threads, queueCapacity, retryAfter, meterRegistry);
     }
 
     @Bean
@@ -47,6 +127,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified"));
         configuration.setAllowCredentials(false);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,11 +1,24 @@
 package com.bci.userapi.config;
 
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
+import springfox.documentation.service.AuthorizationScope;
+import springfox.documentation.service.HttpAuthenticationScheme;
+import springfox.documentation.service.SecurityReference;
 import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spi.service.contexts.SecurityContext;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 public class SwaggerConfig {
@@ -16,6 +29,45 @@ public class SwaggerConfig {
                 .select()
                 .apis(RequestHandlerSelectors.basePackage("com.bci.userapi.controller"))
                 .paths(PathSelectors.any())
-                .build();
+                .build()
+                .securitySchemes(Collections.singletonList(
+                        HttpAuthenticationScheme.JWT_BEARER_BUILDER.name("JWT").build()))
+                .securityContexts(Collections.singletonList(SecurityContext.builder()
+                        .securityReferences(Collections.singletonList(
+                                new SecurityReference("JWT", new AuthorizationScope[0])))
+                        .build()));
+    }
+
+    // Springfox no soporta los handler mappings de actuator basados en PathPatternParser
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    retainAntPathMatcherMappings(bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void retainAntPathMatcherMappings(Object provider) {
+        Field field = ReflectionUtils.findField(provider.getClass(), "handlerMappings");
+        if (field == null) {
+            return;
+        }
+        ReflectionUtils.makeAccessible(field);
+        List<RequestMappingInfoHandlerMapping> mappings =
+                (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, provider);
+        if (mappings == null) {
+            return;
+        }
+        List<RequestMappingInfoHandlerMapping> retained = mappings.stream()
+                .filter(mapping -> mapping.getPatternParser() == null)
+                .collect(Collectors.toList());
+        mappings.clear();
+        mappings.addAll(retained);
     }
 }
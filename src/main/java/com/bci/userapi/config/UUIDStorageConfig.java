@@ -0,0 +1,80 @@
+package com.bci.userapi.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.TypeContributorList;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.hibernate.type.UUIDBinaryType;
+import org.hibernate.type.UUIDCharType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+@Configuration
+public class UUIDStorageConfig {
+
+    public static final String UUID_STORAGE_TYPE = "uuid-storage";
+
+    private static final int BINARY_UUID_LENGTH = 16;
+
+    @Bean
+    public HibernatePropertiesCustomizer uuidStorageCustomizer(@Value("${persistence.uuid.storage}") String storage) {
+        BasicType uuidType = resolveType(storage);
+        return properties -> {
+            properties.put(EntityManagerFactoryBuilderImpl.TYPE_CONTRIBUTORS, (TypeContributorList) () ->
+                    Collections.singletonList((typeContributions, serviceRegistry) ->
+                            typeContributions.contributeType(uuidType, UUID_STORAGE_TYPE)));
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () ->
+                    Collections.singletonList(new BinaryUUIDColumnIntegrator()));
+        };
+    }
+
+    static BasicType resolveType(String storage) {
+        if ("char".equalsIgnoreCase(storage)) {
+            return UUIDCharType.INSTANCE;
+        }
+        if ("binary".equalsIgnoreCase(storage)) {
+            return UUIDBinaryType.INSTANCE;
+        }
+        throw new IllegalArgumentException("Modo de almacenamiento de UUID no soportado: " + storage);
+    }
+
+    static class BinaryUUIDColumnIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata,
+                              SessionFactoryImplementor sessionFactory,
+                              SessionFactoryServiceRegistry serviceRegistry) {
+            for (Table table : metadata.collectTableMappings()) {
+                Iterator<?> columns = table.getColumnIterator();
+                while (columns.hasNext()) {
+                    Column column = (Column) columns.next();
+                    Type type = column.getValue().getType();
+                    if (type instanceof EntityType) {
+                        type = ((EntityType) type).getIdentifierOrUniqueKeyType(metadata);
+                    }
+                    if (type instanceof UUIDBinaryType) {
+                        column.setLength(BINARY_UUID_LENGTH);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -4,17 +4,27 @@ import com.bci.userapi.dto.ChangePasswordRequestDTO;
 import com.bci.userapi.dto.ChangePasswordResponseDTO;
 import com.bci.userapi.dto.DeleteUserResponseDTO;
 import com.bci.userapi.dto.ErrorResponseDTO;
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.LogoutResponseDTO;
+import com.bci.userapi.dto.UserBatchResponseDTO;
 import com.bci.userapi.dto.UserDetailResponseDTO;
-import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.dto.UserPageResponseDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateRequestDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
+import com.bci.userapi.pagination.UserPage;
+import com.bci.userapi.service.IUserBatchService;
+import com.bci.userapi.service.IUserExportService;
 import com.bci.userapi.service.IUserService;
+import com.bci.userapi.version.Versioned;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -25,29 +35,72 @@ import java.util.UUID;
 public class UserController {
 
     private final IUserService userService;
+    private final IUserExportService userExportService;
+    private final IUserBatchService userBatchService;
 
-    public UserController(IUserService userService) {
+    public UserController(IUserService userService,
+                          IUserExportService userExportService,
+                          IUserBatchService userBatchService) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userBatchService = userBatchService;
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> createUser(@Valid @RequestBody UserRequestDTO userRequest) {
+    public ResponseEntity<?> createUser(@RequestBody UserRequestDTO userRequest) {
         UserResponseDTO response = userService.createUser(userRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable UUID id) {
-        UserDetailResponseDTO response = userService.getUserById(id);
+    @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
+        UserResponseDTO response = userService.login(loginRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        String token = authorization.replaceFirst("(?i)^Bearer\\s+", "").trim();
+        LogoutResponseDTO response = userService.logout(token);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createUsers(@RequestBody List<UserRequestDTO> userRequests) {
+        UserBatchResponseDTO response = userBatchService.createUsers(userRequests);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getUserById(@PathVariable UUID id, WebRequest request) {
+        Versioned<UserDetailResponseDTO> user = userService.getUserById(id,
+                version -> request.checkNotModified(version.getEtag(), version.getLastModified()));
+        if (!user.isModified()) {
+            return null;
+        }
+        return ResponseEntity.ok(user.getBody());
+    }
+
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
-        List<UserListResponseDTO> response = userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         WebRequest request) {
+        UserPage page = userService.getUserPage(cursor, size);
+        if (request.checkNotModified(page.version().getEtag())) {
+            return null;
+        }
+        UserPageResponseDTO response = userService.getAllUsers(page);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userExportService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> updateUser(@PathVariable UUID id, 
                                        @Valid @RequestBody UserUpdateRequestDTO userRequest) {
@@ -0,0 +1,45 @@
+package com.bci.userapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    // Spring Data repository methods run in their own readOnly transaction when called outside a service one
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private final ReplicaPool replicaPool;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaDataSource replica : replicaPool.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isRepositoryDefault()) {
+            return PRIMARY;
+        }
+        ReplicaDataSource replica = replicaPool.select();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    private static boolean isRepositoryDefault() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(REPOSITORY_TRANSACTION_PREFIX);
+    }
+}
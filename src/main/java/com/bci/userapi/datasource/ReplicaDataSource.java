@@ -0,0 +1,48 @@
+package com.bci.userapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+
+public class ReplicaDataSource {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean available = true;
+    private volatile double lagSeconds;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void update(boolean available, double lagSeconds) {
+        this.available = available;
+        this.lagSeconds = lagSeconds;
+    }
+
+    public int activeConnections() {
+        if (dataSource instanceof HikariDataSource) {
+            HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+        return 0;
+    }
+}
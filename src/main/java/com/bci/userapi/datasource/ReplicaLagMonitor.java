@@ -0,0 +1,74 @@
+package com.bci.userapi.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaPool replicaPool;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(ReplicaPool replicaPool, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaPool = replicaPool;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        for (ReplicaDataSource replica : replicaPool.getReplicas()) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaDataSource::getLagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval:5000}")
+    public void checkLag() {
+        if (!StringUtils.hasText(lagQuery)) {
+            return;
+        }
+        for (ReplicaDataSource replica : replicaPool.getReplicas()) {
+            try {
+                double lag = queryLag(replica);
+                boolean available = lag <= maxLagSeconds;
+                if (available != replica.isAvailable()) {
+                    logger.warn("Réplica {} {} - Retraso: {}s, máximo: {}s", replica.getName(),
+                            available ? "habilitada" : "deshabilitada", lag, maxLagSeconds);
+                }
+                replica.update(available, lag);
+            } catch (SQLException e) {
+                if (replica.isAvailable()) {
+                    logger.error("Réplica {} deshabilitada - Error al consultar retraso: {}", replica.getName(), e.getMessage());
+                }
+                replica.update(false, replica.getLagSeconds());
+            }
+        }
+    }
+
+    private double queryLag(ReplicaDataSource replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("La consulta de retraso no retornó filas");
+            }
+            double lag = resultSet.getDouble(1);
+            return resultSet.wasNull() ? 0 : lag;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bci.userapi.datasource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaPool implements AutoCloseable {
+
+    private final List<ReplicaDataSource> replicas;
+    private final ReplicaSelectionStrategy strategy;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public ReplicaPool(List<ReplicaDataSource> replicas, ReplicaSelectionStrategy strategy) {
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.strategy = strategy;
+    }
+
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public ReplicaSelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    public ReplicaDataSource select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(sequence.getAndIncrement(), size);
+
+        ReplicaDataSource selected = null;
+        int selectedActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            if (strategy == ReplicaSelectionStrategy.ROUND_ROBIN) {
+                return replica;
+            }
+            int active = replica.activeConnections();
+            if (active < selectedActive) {
+                selected = replica;
+                selectedActive = active;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable) {
+                ((AutoCloseable) replica.getDataSource()).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.bci.userapi.datasource;
+
+public enum ReplicaSelectionStrategy {
+    ROUND_ROBIN,
+    LEAST_BUSY
+}
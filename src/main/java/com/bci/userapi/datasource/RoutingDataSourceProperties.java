@@ -0,0 +1,30 @@
+package com.bci.userapi.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+    private ReplicaSelectionStrategy strategy = ReplicaSelectionStrategy.ROUND_ROBIN;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private String lagQuery;
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
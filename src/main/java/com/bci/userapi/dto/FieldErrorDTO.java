@@ -0,0 +1,13 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldErrorDTO {
+    private String campo;
+    private String mensaje;
+}
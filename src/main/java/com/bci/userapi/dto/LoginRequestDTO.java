@@ -0,0 +1,19 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginRequestDTO {
+
+    @NotBlank(message = "El correo es requerido")
+    private String email;
+
+    @NotBlank(message = "La contraseña es requerida")
+    private String password;
+}
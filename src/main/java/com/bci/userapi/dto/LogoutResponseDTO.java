@@ -0,0 +1,12 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutResponseDTO {
+    private String mensaje;
+}
@@ -0,0 +1,18 @@
+package com.bci.userapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserBatchItemResponseDTO {
+
+    private int index;
+    private boolean success;
+    private UserResponseDTO user;
+    private String mensaje;
+}
@@ -0,0 +1,17 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponseDTO {
+
+    private int created;
+    private int failed;
+    private List<UserBatchItemResponseDTO> results;
+}
@@ -0,0 +1,16 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponseDTO {
+
+    private List<UserListResponseDTO> users;
+    private String next;
+}
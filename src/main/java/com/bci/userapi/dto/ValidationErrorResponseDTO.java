@@ -0,0 +1,15 @@
+package com.bci.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationErrorResponseDTO {
+    private String mensaje;
+    private List<FieldErrorDTO> errores;
+}
@@ -1,14 +1,23 @@
 package com.bci.userapi.entity;
 
+import com.bci.userapi.config.UUIDStorageConfig;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "phones")
 @Data
 @NoArgsConstructor
@@ -16,8 +25,10 @@ public class Phone {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Type(type = "uuid-char")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = "com.bci.userapi.entity.id.TimeOrderedUUIDStrategy")
+    })
+    @Type(type = UUIDStorageConfig.UUID_STORAGE_TYPE)
     @Column(length = 36)
     private UUID id;
 
@@ -32,6 +43,7 @@ public class Phone {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 }
 
@@ -0,0 +1,29 @@
+package com.bci.userapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_subjects", indexes = @Index(name = "idx_revoked_subjects_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedSubject {
+
+    @Id
+    private String subject;
+
+    @Column(name = "issued_until", nullable = false)
+    private long issuedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,9 +1,15 @@
 package com.bci.userapi.entity;
 
+import com.bci.userapi.config.UUIDStorageConfig;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -12,28 +18,38 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_created_id", columnList = "created, id"),
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @Data
 @NoArgsConstructor
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Type(type = "uuid-char")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = "com.bci.userapi.entity.id.TimeOrderedUUIDStrategy")
+    })
+    @Type(type = UUIDStorageConfig.UUID_STORAGE_TYPE)
     @Column(length = 36)
     private UUID id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
     private String password;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Phone> phones = new ArrayList<>();
 
     @Column(nullable = false)
@@ -42,10 +58,10 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime modified;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime lastLogin;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 500)
     private String token;
 
     @Column(nullable = false)
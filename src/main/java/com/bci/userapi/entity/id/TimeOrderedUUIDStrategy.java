@@ -0,0 +1,47 @@
+package com.bci.userapi.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimeOrderedUUIDStrategy implements UUIDGenerationStrategy {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int VERSION = 7;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VARIANT_BITS = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    @Override
+    public int getGeneratedVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public UUID generateUUID(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    public static UUID generate() {
+        long state = nextState(System.currentTimeMillis());
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+
+        long mostSigBits = (timestamp << 16) | ((long) VERSION << 12) | sequence;
+        long leastSigBits = VARIANT_BITS | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long nextState(long now) {
+        long candidate = now << SEQUENCE_BITS;
+        return LAST_STATE.updateAndGet(last -> candidate > last ? candidate : last + 1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bci.userapi.exception;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+// Per key: the first `burst` events of each window are logged, then one in `sampleRate`.
+// A logged event reports how many events of the same key were skipped since the previous one.
+public class ClientErrorLogSampler {
+
+    public static final long SKIP = -1;
+
+    private final int burst;
+    private final long windowNanos;
+    private final int sampleRate;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ClientErrorLogSampler(int burst, Duration window, int sampleRate) {
+        this(burst, window, sampleRate, System::nanoTime);
+    }
+
+    ClientErrorLogSampler(int burst, Duration window, int sampleRate, LongSupplier nanoClock) {
+        if (burst < 0 || sampleRate < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Configuración de muestreo de logs inválida");
+        }
+        this.burst = burst;
+        this.windowNanos = window.toNanos();
+        this.sampleRate = sampleRate;
+        this.nanoClock = nanoClock;
+    }
+
+    public long sample(String key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            window = windows.computeIfAbsent(key, k -> new Window(nanoClock.getAsLong()));
+        }
+        return window.sample(nanoClock.getAsLong());
+    }
+
+    private final class Window {
+
+        private long start;
+        private long seen;
+        private long skipped;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private synchronized long sample(long now) {
+            if (now - start >= windowNanos) {
+                start = now;
+                seen = 0;
+            }
+            seen++;
+            if (seen <= burst || (seen - burst) % sampleRate == 0) {
+                long reported = skipped;
+                skipped = 0;
+                return reported;
+            }
+            skipped++;
+            return SKIP;
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package com.bci.userapi.exception;
 
+import com.bci.userapi.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
 public class EmailAlreadyExistsException extends RuntimeException {
     public EmailAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
 
+    public static boolean isEmailConstraintViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) cause).getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bci.userapi.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.bci.userapi.entity.User;
+import org.slf4j.Marker;
+
+import java.util.Locale;
+
+// Drops the errors Hibernate logs when users.email's unique constraint rejects a duplicate, which GlobalExceptionHandler answers with 409.
+// Any other error from these loggers is still written.
+public class EmailConstraintLogFilter extends TurboFilter {
+
+    static final String SQL_EXCEPTION_HELPER = "org.hibernate.engine.jdbc.spi.SqlExceptionHelper";
+    static final String BATCHING_BATCH = "org.hibernate.engine.jdbc.batch.internal.BatchingBatch";
+
+    private static final String CONSTRAINT = User.EMAIL_CONSTRAINT.toUpperCase(Locale.ROOT);
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (logger == null || !level.isGreaterOrEqual(Level.ERROR)) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        if (!SQL_EXCEPTION_HELPER.equals(name) && !BATCHING_BATCH.equals(name)) {
+            return FilterReply.NEUTRAL;
+        }
+        return mentionsConstraint(format) || causedByConstraint(t) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+
+    private static boolean causedByConstraint(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (mentionsConstraint(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsConstraint(String message) {
+        return message != null && message.toUpperCase(Locale.ROOT).contains(CONSTRAINT);
+    }
+}
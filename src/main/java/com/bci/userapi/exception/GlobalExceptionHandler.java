@@ -1,13 +1,20 @@
 package com.bci.userapi.exception;
 
 import com.bci.userapi.dto.ErrorResponseDTO;
+import com.bci.userapi.dto.FieldErrorDTO;
+import com.bci.userapi.dto.ValidationErrorResponseDTO;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
+import com.bci.userapi.exception.InvalidCredentialsException;
 import com.bci.userapi.exception.InvalidEmailFormatException;
 import com.bci.userapi.exception.InvalidPasswordFormatException;
+import com.bci.userapi.exception.PasswordHashingBusyException;
 import com.bci.userapi.exception.PasswordMismatchException;
 import com.bci.userapi.exception.UserNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -16,52 +23,98 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ClientErrorLogSampler logSampler;
+
+    public GlobalExceptionHandler(@Value("${client-errors.log.burst}") int burst,
+                                  @Value("${client-errors.log.window}") Duration window,
+                                  @Value("${client-errors.log.sample-rate}") int sampleRate) {
+        this.logSampler = new ClientErrorLogSampler(burst, window, sampleRate);
+    }
+
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDTO> handleEmailAlreadyExists(EmailAlreadyExistsException ex) {
-        logger.warn("Intento de registro con email duplicado: {}", ex.getMessage());
+        warnSampled("email.duplicate", "Intento de registro con email duplicado: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        // The Bloom filter is per instance: a duplicate it misses is caught by uk_users_email at flush or commit
+        if (!EmailAlreadyExistsException.isEmailConstraintViolation(ex)) {
+            return handleGenericException(ex);
+        }
+        return handleEmailAlreadyExists(new EmailAlreadyExistsException("El correo ya registrado"));
+    }
+
     @ExceptionHandler(InvalidEmailFormatException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidEmailFormat(InvalidEmailFormatException ex) {
-        logger.warn("Formato de email inválido: {}", ex.getMessage());
+        warnSampled("email.format", "Formato de email inválido: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
     @ExceptionHandler(InvalidPasswordFormatException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidPasswordFormat(InvalidPasswordFormatException ex) {
-        logger.warn("Formato de contraseña inválido: {}", ex.getMessage());
+        warnSampled("password.format", "Formato de contraseña inválido: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(RequestValidationException.class)
+    public ResponseEntity<ValidationErrorResponseDTO> handleRequestValidation(RequestValidationException ex) {
+        warnSampled("request.validation", "Error de validación en campos: {}", ex.getErrors());
+        List<FieldErrorDTO> errors = ex.getErrors().stream()
+                .map(error -> new FieldErrorDTO(error.getField(), error.getMessage()))
+                .collect(Collectors.toList());
+        ValidationErrorResponseDTO error = new ValidationErrorResponseDTO(ex.getMessage(), errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(PasswordMismatchException.class)
     public ResponseEntity<ErrorResponseDTO> handlePasswordMismatch(PasswordMismatchException ex) {
-        logger.warn("Las contraseñas no coinciden: {}", ex.getMessage());
+        warnSampled("password.mismatch", "Las contraseñas no coinciden: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCredentials(InvalidCredentialsException ex) {
+        warnSampled("login.failed", "Intento de inicio de sesión fallido: {}", ex.getMessage());
+        ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        warnSampled("hashing.busy", "Cola de hashing de contraseñas llena: {}", ex.getMessage());
+        ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(IllegalArgumentException ex) {
-        logger.warn("Argumento inválido: {}", ex.getMessage());
+        warnSampled("illegal.argument", "Argumento inválido: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleUserNotFound(UserNotFoundException ex) {
-        logger.warn("Usuario no encontrado: {}", ex.getMessage());
+        warnSampled("user.not-found", "Usuario no encontrado: {}", ex.getMessage());
         ErrorResponseDTO error = new ErrorResponseDTO(ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
@@ -75,7 +128,7 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
         
-        logger.warn("Error de validación en campos: {}", errors);
+        warnSampled("field.validation", "Error de validación en campos: {}", errors);
         String mensaje = errors.values().iterator().next();
         ErrorResponseDTO error = new ErrorResponseDTO(mensaje);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -83,7 +136,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ErrorResponseDTO> handleHttpMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex) {
-        logger.warn("Tipo de contenido no soportado: {}", ex.getMessage());
+        warnSampled("media-type", "Tipo de contenido no soportado: {}", ex.getMessage());
         String mensaje = "El tipo de contenido no es válido. Se requiere application/json";
         ErrorResponseDTO error = new ErrorResponseDTO(mensaje);
         return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
@@ -95,5 +148,14 @@ public class GlobalExceptionHandler {
         ErrorResponseDTO error = new ErrorResponseDTO("Error interno del servidor");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
-}
 
+    private void warnSampled(String key, String format, Object detail) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long skipped = logSampler.sample(key);
+        if (skipped != ClientErrorLogSampler.SKIP) {
+            logger.warn(format + " (omitidos: {})", detail, skipped);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bci.userapi.exception;
+
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,7 +2,7 @@ package com.bci.userapi.exception;
 
 public class InvalidEmailFormatException extends RuntimeException {
     public InvalidEmailFormatException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
 
@@ -2,7 +2,7 @@ package com.bci.userapi.exception;
 
 public class InvalidPasswordFormatException extends RuntimeException {
     public InvalidPasswordFormatException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
 
@@ -2,7 +2,7 @@ package com.bci.userapi.exception;
 
 public class PasswordMismatchException extends RuntimeException {
     public PasswordMismatchException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
 
@@ -0,0 +1,20 @@
+package com.bci.userapi.exception;
+
+import com.bci.userapi.validator.plan.ValidationError;
+
+import java.util.Collections;
+import java.util.List;
+
+public class RequestValidationException extends RuntimeException {
+
+    private final List<ValidationError> errors;
+
+    public RequestValidationException(List<ValidationError> errors) {
+        super(errors.get(0).getMessage(), null, false, false);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+}
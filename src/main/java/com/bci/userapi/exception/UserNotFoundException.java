@@ -2,7 +2,7 @@ package com.bci.userapi.exception;
 
 public class UserNotFoundException extends RuntimeException {
     public UserNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
 
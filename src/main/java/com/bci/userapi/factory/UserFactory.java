@@ -24,8 +24,12 @@ public class UserFactory {
     }
 
     public User createUser(UserRequestDTO userRequest, String token) {
+        return createUser(userRequest, token, passwordEncoder.encode(userRequest.getPassword()));
+    }
+
+    public User createUser(UserRequestDTO userRequest, String token, String passwordHash) {
         User user = userMapper.toEntity(userRequest);
-        user.setPassword(passwordEncoder.encode(userRequest.getPassword()));
+        user.setPassword(passwordHash);
         user.setToken(token);
         user.setIsActive(true);
         
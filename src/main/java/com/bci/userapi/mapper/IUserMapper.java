@@ -8,6 +8,8 @@ import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
 import com.bci.userapi.entity.Phone;
 import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
 
 import java.util.List;
 
@@ -17,7 +19,9 @@ public interface IUserMapper {
     UserDetailResponseDTO toDetailResponseDTO(User entity);
     UserUpdateResponseDTO toUpdateResponseDTO(User entity);
     UserListResponseDTO toListResponseDTO(User entity);
+    List<UserListResponseDTO> toListResponseDTOList(List<UserListView> users, List<PhoneView> phones);
     Phone toPhoneEntity(PhoneDTO dto, User user);
+    void mergePhones(User user, List<PhoneDTO> phones);
     PhoneDTO toPhoneDTO(Phone entity);
     List<PhoneDTO> toPhoneDTOList(List<Phone> phones);
 }
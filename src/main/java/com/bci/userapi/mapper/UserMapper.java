@@ -8,9 +8,20 @@ import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
 import com.bci.userapi.entity.Phone;
 import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -74,6 +85,30 @@ public class UserMapper implements IUserMapper {
         return dto;
     }
 
+    @Override
+    public List<UserListResponseDTO> toListResponseDTOList(List<UserListView> users, List<PhoneView> phones) {
+        Map<UUID, List<PhoneDTO>> phonesByUser = new HashMap<>();
+        for (PhoneView phone : phones) {
+            phonesByUser.computeIfAbsent(phone.getUserId(), id -> new ArrayList<>())
+                    .add(new PhoneDTO(phone.getNumber(), phone.getCitycode(), phone.getCountrycode()));
+        }
+
+        List<UserListResponseDTO> result = new ArrayList<>(users.size());
+        for (UserListView user : users) {
+            UserListResponseDTO dto = new UserListResponseDTO();
+            dto.setId(user.getId());
+            dto.setName(user.getName());
+            dto.setEmail(user.getEmail());
+            dto.setPhones(phonesByUser.getOrDefault(user.getId(), Collections.emptyList()));
+            dto.setCreated(user.getCreated());
+            dto.setModified(user.getModified());
+            dto.setIsActive(user.getIsActive());
+            dto.setLastLogin(user.getLastLogin());
+            result.add(dto);
+        }
+        return result;
+    }
+
     @Override
     public Phone toPhoneEntity(PhoneDTO dto, User user) {
         Phone phone = new Phone();
@@ -84,6 +119,34 @@ public class UserMapper implements IUserMapper {
         return phone;
     }
 
+    @Override
+    public void mergePhones(User user, List<PhoneDTO> phones) {
+        Map<String, Deque<PhoneDTO>> pending = new LinkedHashMap<>();
+        for (PhoneDTO dto : phones) {
+            pending.computeIfAbsent(phoneKey(dto.getCountrycode(), dto.getCitycode(), dto.getNumber()),
+                    key -> new ArrayDeque<>()).add(dto);
+        }
+
+        Iterator<Phone> existing = user.getPhones().iterator();
+        while (existing.hasNext()) {
+            Phone phone = existing.next();
+            Deque<PhoneDTO> matches = pending.get(phoneKey(phone.getCountrycode(), phone.getCitycode(), phone.getNumber()));
+            if (matches == null || matches.poll() == null) {
+                existing.remove();
+            }
+        }
+
+        for (Deque<PhoneDTO> added : pending.values()) {
+            for (PhoneDTO dto : added) {
+                user.getPhones().add(toPhoneEntity(dto, user));
+            }
+        }
+    }
+
+    private static String phoneKey(String countrycode, String citycode, String number) {
+        return countrycode + '|' + citycode + '|' + number;
+    }
+
     @Override
     public PhoneDTO toPhoneDTO(Phone entity) {
         PhoneDTO dto = new PhoneDTO();
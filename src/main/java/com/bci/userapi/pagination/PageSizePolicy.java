@@ -0,0 +1,30 @@
+package com.bci.userapi.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageSizePolicy {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageSizePolicy(@Value("${pagination.users.default-size}") int defaultSize,
+                          @Value("${pagination.users.max-size}") int maxSize) {
+        if (defaultSize <= 0 || maxSize <= 0 || defaultSize > maxSize) {
+            throw new IllegalArgumentException("La configuración de paginación no es válida");
+        }
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int resolve(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        if (requestedSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+}
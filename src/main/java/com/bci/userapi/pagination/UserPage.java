@@ -0,0 +1,36 @@
+package com.bci.userapi.pagination;
+
+import com.bci.userapi.repository.projection.UserListView;
+import com.bci.userapi.version.ResourceVersion;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class UserPage {
+
+    private final List<UserListView> users;
+    private final String next;
+
+    public UserPage(List<UserListView> users, String next) {
+        this.users = Collections.unmodifiableList(users);
+        this.next = next;
+    }
+
+    public List<UserListView> getUsers() {
+        return users;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public ResourceVersion version() {
+        StringBuilder content = new StringBuilder();
+        for (UserListView user : users) {
+            content.append(user.getId()).append(':').append(user.getModified())
+                    .append(':').append(user.getLastLogin()).append(';');
+        }
+        content.append(next);
+        return ResourceVersion.ofContent(content.toString());
+    }
+}
@@ -0,0 +1,22 @@
+package com.bci.userapi.repository;
+
+import com.bci.userapi.entity.RevokedSubject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedSubjectRepository extends JpaRepository<RevokedSubject, String> {
+    List<RevokedSubject> findByExpiresAtAfter(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedSubject s where s.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,14 +1,58 @@
 package com.bci.userapi.repository;
 
 import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
-}
 
+    boolean existsByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.bci.userapi.repository.projection.UserListView("
+            + "u.id, u.name, u.email, u.created, u.modified, u.isActive, u.lastLogin) "
+            + "from User u "
+            + "order by u.created asc, u.id asc")
+    List<UserListView> findFirstPage(Pageable pageable);
+
+    @Query("select new com.bci.userapi.repository.projection.UserListView("
+            + "u.id, u.name, u.email, u.created, u.modified, u.isActive, u.lastLogin) "
+            + "from User u "
+            + "where u.created > :created or (u.created = :created and u.id > :id) "
+            + "order by u.created asc, u.id asc")
+    List<UserListView> findPageAfter(@Param("created") LocalDateTime created,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    @Query("select new com.bci.userapi.repository.projection.PhoneView("
+            + "p.user.id, p.number, p.citycode, p.countrycode) "
+            + "from Phone p "
+            + "where p.user.id in :userIds "
+            + "order by p.id asc")
+    List<PhoneView> findPhonesByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+}
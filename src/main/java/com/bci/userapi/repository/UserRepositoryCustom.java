@@ -0,0 +1,13 @@
+package com.bci.userapi.repository;
+
+import com.bci.userapi.repository.projection.UserListView;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+    Optional<String> deleteByIdReturningEmail(UUID id);
+
+    Stream<UserListView> streamAllListViews(int fetchSize);
+}
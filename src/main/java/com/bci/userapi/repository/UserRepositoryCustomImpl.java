@@ -0,0 +1,63 @@
+package com.bci.userapi.repository;
+
+import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.projection.UserListView;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // Locking the row first keeps the returned email tied to the row this transaction deletes
+    private static final String LOCK_EMAIL = "select email from users where id = :id for update";
+    private static final String DELETE = "delete from users where id = :id";
+
+    // No entity region uses this space, so Hibernate does not clear the users and phones regions after the native
+    // delete; UserEntityCache evicts only the deleted user's entries
+    private static final String DELETE_QUERY_SPACE = "users_delete";
+
+    private static final String ALL_LIST_VIEWS = "select new com.bci.userapi.repository.projection.UserListView("
+            + "u.id, u.name, u.email, u.created, u.modified, u.isActive, u.lastLogin) "
+            + "from User u";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<String> deleteByIdReturningEmail(UUID id) {
+        Session session = entityManager.unwrap(Session.class);
+        Type idType = ((SessionFactoryImplementor) session.getSessionFactory()).getMetamodel()
+                .entityPersister(User.class).getIdentifierType();
+        List<String> emails = session.createNativeQuery(LOCK_EMAIL)
+                .addScalar("email", StringType.INSTANCE)
+                .setParameter("id", id, idType)
+                .getResultList();
+        if (emails.isEmpty()) {
+            return Optional.empty();
+        }
+        session.createNativeQuery(DELETE)
+                .addSynchronizedQuerySpace(DELETE_QUERY_SPACE)
+                .setParameter("id", id, idType)
+                .executeUpdate();
+        return Optional.of(emails.get(0));
+    }
+
+    // The fetch size is a runtime value, which @QueryHints cannot take, so the query is built here
+    @Override
+    public Stream<UserListView> streamAllListViews(int fetchSize) {
+        return entityManager.createQuery(ALL_LIST_VIEWS, UserListView.class)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
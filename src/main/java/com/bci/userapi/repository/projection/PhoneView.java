@@ -0,0 +1,16 @@
+package com.bci.userapi.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class PhoneView {
+
+    private final UUID userId;
+    private final String number;
+    private final String citycode;
+    private final String countrycode;
+}
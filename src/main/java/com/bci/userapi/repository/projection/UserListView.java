@@ -0,0 +1,20 @@
+package com.bci.userapi.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class UserListView {
+
+    private final UUID id;
+    private final String name;
+    private final String email;
+    private final LocalDateTime created;
+    private final LocalDateTime modified;
+    private final Boolean isActive;
+    private final LocalDateTime lastLogin;
+}
@@ -0,0 +1,85 @@
+package com.bci.userapi.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+public class BcryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+    private static final int SAMPLES = 3;
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+
+    private final long targetNanos;
+    private final double tolerance;
+    private final int minStrength;
+    private final int maxStrength;
+    private final IntToLongFunction timer;
+
+    public BcryptCostCalibrator(Duration target, double tolerance, int minStrength, int maxStrength) {
+        this(target, tolerance, minStrength, maxStrength, BcryptCostCalibrator::time);
+    }
+
+    BcryptCostCalibrator(Duration target, double tolerance, int minStrength, int maxStrength,
+                         IntToLongFunction timer) {
+        if (target == null || target.isNegative() || target.isZero()) {
+            throw new IllegalArgumentException("El tiempo objetivo de BCrypt debe ser mayor que 0");
+        }
+        if (tolerance < 0 || tolerance >= 1) {
+            throw new IllegalArgumentException("La tolerancia de calibración de BCrypt debe estar entre 0 y 1");
+        }
+        if (minStrength < 4 || maxStrength > MAX_BCRYPT_STRENGTH || maxStrength < minStrength) {
+            throw new IllegalArgumentException("El rango de costos de BCrypt debe estar entre 4 y 31");
+        }
+        this.targetNanos = target.toNanos();
+        this.tolerance = tolerance;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+        this.timer = timer;
+    }
+
+    public int calibrate() {
+        int strength = minStrength;
+        timer.applyAsLong(strength);
+        long measured = median(strength);
+        while (strength < maxStrength && distance(measured * 2) < distance(measured)) {
+            strength++;
+            measured = median(strength);
+        }
+
+        double millis = measured / 1_000_000.0;
+        if (Math.abs(measured - targetNanos) <= targetNanos * tolerance) {
+            logger.info("Costo de BCrypt calibrado en {} ({} ms por hash, objetivo {} ms)",
+                    strength, String.format("%.1f", millis), targetNanos / 1_000_000);
+        } else {
+            logger.warn("Costo de BCrypt calibrado en {} ({} ms por hash) fuera del objetivo de {} ms ± {}%",
+                    strength, String.format("%.1f", millis), targetNanos / 1_000_000, Math.round(tolerance * 100));
+        }
+        return strength;
+    }
+
+    private double distance(long nanos) {
+        return Math.abs(Math.log((double) nanos / targetNanos));
+    }
+
+    private long median(int strength) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = Math.max(1, timer.applyAsLong(strength));
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    private static long time(int strength) {
+        String salt = BCrypt.gensalt(strength);
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibracion", salt);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,219 @@
+package com.bci.userapi.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+public final class JwtMinter {
+
+    private static final String ALGORITHM = "HmacSHA512";
+    private static final int MIN_KEY_BYTES = 64;
+    private static final byte[] HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encode("{\"alg\":\"HS512\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<State> state;
+
+    public JwtMinter(SecretKey secretKey) {
+        byte[] encoded = secretKey.getEncoded();
+        if (encoded == null || encoded.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("HS512 requiere una clave de al menos 512 bits");
+        }
+        try {
+            Mac.getInstance(ALGORITHM).init(secretKey);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("La clave no es válida para " + ALGORITHM, ex);
+        }
+        this.state = ThreadLocal.withInitial(() -> new State(secretKey));
+    }
+
+    public String mint(String subject, String id, long issuedAtSeconds, long expiresAtSeconds) {
+        State current = state.get();
+        Buffer claims = current.claims.reset();
+        claims.ascii("{\"sub\":\"").jsonString(subject)
+                .ascii("\",\"jti\":\"").jsonString(id)
+                .ascii("\",\"iat\":").number(issuedAtSeconds)
+                .ascii(",\"exp\":").number(expiresAtSeconds)
+                .ascii("}");
+
+        Buffer token = current.token.reset();
+        token.bytes(HEADER, HEADER.length).ascii(".").base64Url(claims.data, claims.length);
+        current.mac.update(token.data, 0, token.length);
+        try {
+            current.mac.doFinal(current.signature, 0);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Error al firmar el token JWT", ex);
+        }
+        token.ascii(".").base64Url(current.signature, current.signature.length);
+        return new String(token.data, 0, token.length, StandardCharsets.US_ASCII);
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final byte[] signature;
+        private final Buffer claims = new Buffer(128);
+        private final Buffer token = new Buffer(256);
+
+        private State(SecretKey secretKey) {
+            try {
+                this.mac = Mac.getInstance(ALGORITHM);
+                this.mac.init(secretKey);
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("No se pudo inicializar " + ALGORITHM, ex);
+            }
+            this.signature = new byte[mac.getMacLength()];
+        }
+    }
+
+    private static final class Buffer {
+        private byte[] data;
+        private int length;
+
+        private Buffer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        private Buffer reset() {
+            length = 0;
+            return this;
+        }
+
+        private Buffer ascii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                data[length++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        private Buffer bytes(byte[] value, int count) {
+            ensure(count);
+            System.arraycopy(value, 0, data, length, count);
+            length += count;
+            return this;
+        }
+
+        private Buffer number(long value) {
+            if (value == 0) {
+                return ascii("0");
+            }
+            ensure(20);
+            if (value < 0) {
+                data[length++] = '-';
+            }
+            int start = length;
+            while (value != 0) {
+                data[length++] = (byte) ('0' + Math.abs(value % 10));
+                value /= 10;
+            }
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte swap = data[i];
+                data[i] = data[j];
+                data[j] = swap;
+            }
+            return this;
+        }
+
+        private Buffer jsonString(String value) {
+            ensure(value.length() * 6);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    data[length++] = '\\';
+                    data[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x80) {
+                    data[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[length++] = (byte) (0xC0 | (c >> 6));
+                    data[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    data[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    data[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    data[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    data[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // A lone surrogate has no UTF-8 form
+                    unicodeEscape(c);
+                } else {
+                    data[length++] = (byte) (0xE0 | (c >> 12));
+                    data[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    data[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return this;
+        }
+
+        private void escapeControl(char c) {
+            byte escape = shortEscape(c);
+            if (escape == 0) {
+                unicodeEscape(c);
+                return;
+            }
+            data[length++] = '\\';
+            data[length++] = escape;
+        }
+
+        private static byte shortEscape(char c) {
+            switch (c) {
+                case '\b':
+                    return 'b';
+                case '\f':
+                    return 'f';
+                case '\n':
+                    return 'n';
+                case '\r':
+                    return 'r';
+                case '\t':
+                    return 't';
+                default:
+                    return 0;
+            }
+        }
+
+        private void unicodeEscape(char c) {
+            data[length++] = '\\';
+            data[length++] = 'u';
+            data[length++] = HEX[(c >> 12) & 0xF];
+            data[length++] = HEX[(c >> 8) & 0xF];
+            data[length++] = HEX[(c >> 4) & 0xF];
+            data[length++] = HEX[c & 0xF];
+        }
+
+        private Buffer base64Url(byte[] source, int count) {
+            ensure((count + 2) / 3 * 4);
+            int i = 0;
+            for (; i + 3 <= count; i += 3) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+                data[length++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                data[length++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                data[length++] = BASE64_URL[(bits >>> 6) & 0x3F];
+                data[length++] = BASE64_URL[bits & 0x3F];
+            }
+            int remaining = count - i;
+            if (remaining > 0) {
+                int bits = (source[i] & 0xFF) << 16 | (remaining == 2 ? (source[i + 1] & 0xFF) << 8 : 0);
+                data[length++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                data[length++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                if (remaining == 2) {
+                    data[length++] = BASE64_URL[(bits >>> 6) & 0x3F];
+                }
+            }
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bci.userapi.security;
+
+public enum PasswordAlgorithm {
+    BCRYPT("bcrypt"),
+    PBKDF2("pbkdf2"),
+    SCRYPT("scrypt"),
+    ARGON2("argon2");
+
+    private final String id;
+
+    PasswordAlgorithm(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bci.userapi.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PasswordEncoderFactory {
+
+    private PasswordEncoderFactory() {
+    }
+
+    public static DelegatingPasswordEncoder create(PasswordEncodingProperties properties) {
+        Map<PasswordAlgorithm, PasswordEncoder> encoders = encoders(properties);
+        Map<String, PasswordEncoder> byId = new HashMap<>();
+        encoders.forEach((algorithm, encoder) -> byId.put(algorithm.getId(), encoder));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getAlgorithm().getId(), byId);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get(PasswordAlgorithm.BCRYPT));
+        return delegating;
+    }
+
+    public static PasswordEncoder encoder(PasswordAlgorithm algorithm, PasswordEncodingProperties properties) {
+        switch (algorithm) {
+            case BCRYPT:
+                return new BCryptPasswordEncoder(properties.getBcrypt().getStrength());
+            case PBKDF2:
+                PasswordEncodingProperties.Pbkdf2 pbkdf2 = properties.getPbkdf2();
+                Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder(pbkdf2.getSecret(),
+                        pbkdf2.getSaltLength(), pbkdf2.getIterations(), pbkdf2.getHashWidth());
+                encoder.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+                return encoder;
+            case SCRYPT:
+                PasswordEncodingProperties.Scrypt scrypt = properties.getScrypt();
+                return new SCryptPasswordEncoder(scrypt.getCpuCost(), scrypt.getMemoryCost(),
+                        scrypt.getParallelization(), scrypt.getKeyLength(), scrypt.getSaltLength());
+            case ARGON2:
+                PasswordEncodingProperties.Argon2 argon2 = properties.getArgon2();
+                return new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                        argon2.getParallelism(), argon2.getMemory(), argon2.getIterations());
+            default:
+                throw new IllegalArgumentException("Algoritmo de contraseña no soportado: " + algorithm);
+        }
+    }
+
+    private static Map<PasswordAlgorithm, PasswordEncoder> encoders(PasswordEncodingProperties properties) {
+        Map<PasswordAlgorithm, PasswordEncoder> encoders = new EnumMap<>(PasswordAlgorithm.class);
+        for (PasswordAlgorithm algorithm : PasswordAlgorithm.values()) {
+            encoders.put(algorithm, encoder(algorithm, properties));
+        }
+        return encoders;
+    }
+}
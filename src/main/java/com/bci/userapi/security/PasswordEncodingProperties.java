@@ -0,0 +1,59 @@
+package com.bci.userapi.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "password-encoding")
+public class PasswordEncodingProperties {
+
+    private PasswordAlgorithm algorithm = PasswordAlgorithm.BCRYPT;
+    private Bcrypt bcrypt = new Bcrypt();
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+    private Scrypt scrypt = new Scrypt();
+    private Argon2 argon2 = new Argon2();
+
+    @Getter
+    @Setter
+    public static class Bcrypt {
+        private int strength = 10;
+        private int minStrength = 10;
+        private int maxStrength = 16;
+        private boolean calibrate;
+        private Duration target = Duration.ofMillis(50);
+        private double tolerance = 0.2;
+    }
+
+    @Getter
+    @Setter
+    public static class Pbkdf2 {
+        private String secret = "";
+        private int saltLength = 16;
+        private int iterations = 310000;
+        private int hashWidth = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Scrypt {
+        private int cpuCost = 16384;
+        private int memoryCost = 8;
+        private int parallelization = 1;
+        private int keyLength = 32;
+        private int saltLength = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class Argon2 {
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+        private int memory = 16384;
+        private int iterations = 2;
+    }
+}
@@ -0,0 +1,159 @@
+package com.bci.userapi.security;
+
+import com.bci.userapi.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHashingExecutor implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final int threads;
+
+    public PasswordHashingExecutor(PasswordEncoder delegate,
+                                   int threads,
+                                   int queueCapacity,
+                                   Duration retryAfter,
+                                   MeterRegistry meterRegistry) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("password-hashing.threads debe ser mayor que 0");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("password-hashing.queue-capacity debe ser mayor que 0");
+        }
+        if (retryAfter == null || retryAfter.isNegative() || retryAfter.isZero()) {
+            throw new IllegalArgumentException("password-hashing.retry-after debe ser mayor que 0");
+        }
+        this.delegate = delegate;
+        this.threads = threads;
+        this.retryAfterSeconds = Math.max(1, retryAfter.getSeconds());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.waitTimer = meterRegistry.timer("password.hashing.wait");
+        this.rejected = meterRegistry.counter("password.hashing.rejected");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Does not block: a full queue yields a future already failed with PasswordHashingBusyException
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return encodeTimer.record(() -> delegate.encode(rawPassword));
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            CompletableFuture<String> busy = new CompletableFuture<>();
+            busy.completeExceptionally(busy());
+            return busy;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            throw busy();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se procesaba la contraseña", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", cause);
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        rejected.increment();
+        return new PasswordHashingBusyException(
+                "Demasiadas solicitudes en proceso, intente nuevamente más tarde", retryAfterSeconds);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Se cancelan {} hashes de contraseña pendientes al detener la aplicación",
+                        executor.shutdownNow().size());
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
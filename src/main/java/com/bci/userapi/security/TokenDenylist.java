@@ -0,0 +1,230 @@
+package com.bci.userapi.security;
+
+import com.bci.userapi.entity.RevokedSubject;
+import com.bci.userapi.entity.RevokedToken;
+import com.bci.userapi.repository.RevokedSubjectRepository;
+import com.bci.userapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class TokenDenylist {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedSubjectRepository revokedSubjectRepository;
+    private final long bucketWidthMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    // Buckets indexed by expiry / bucketWidth: purging drops whole buckets without scanning live entries
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    // Per-subject watermark: every token of the subject issued at or before it is revoked
+    private final ConcurrentHashMap<String, Watermark> subjects = new ConcurrentHashMap<>();
+    // Subjects bucketed by watermark expiry like the jti buckets; a subject whose watermark was extended stays in
+    // its older bucket too and is kept when that bucket is purged
+    private final ConcurrentSkipListMap<Long, Set<String>> subjectBuckets = new ConcurrentSkipListMap<>();
+    private final Counter revocations;
+    private final Counter purged;
+
+    @Autowired
+    public TokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                         RevokedSubjectRepository revokedSubjectRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${token-denylist.bucket-width}") Duration bucketWidth) {
+        this(revokedTokenRepository, revokedSubjectRepository, meterRegistry, bucketWidth, System::currentTimeMillis);
+    }
+
+    TokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                  RevokedSubjectRepository revokedSubjectRepository,
+                  MeterRegistry meterRegistry,
+                  Duration bucketWidth,
+                  LongSupplier clock) {
+        if (bucketWidth.isNegative() || bucketWidth.isZero()) {
+            throw new IllegalArgumentException("token-denylist.bucket-width debe ser mayor a cero");
+        }
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedSubjectRepository = revokedSubjectRepository;
+        this.bucketWidthMillis = bucketWidth.toMillis();
+        this.clock = clock;
+
+        this.revocations = Counter.builder("token.denylist.revoked").register(meterRegistry);
+        this.purged = Counter.builder("token.denylist.purged").register(meterRegistry);
+        Gauge.builder("token.denylist.size", revoked, Map::size).register(meterRegistry);
+        Gauge.builder("token.denylist.subjects", subjects, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        int loaded = 0;
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(toLocalDateTime(clock.getAsLong()))) {
+            if (remember(token.getJti(), toEpochMillis(token.getExpiresAt()))) {
+                loaded++;
+            }
+        }
+        for (RevokedSubject subject : revokedSubjectRepository.findByExpiresAtAfter(toLocalDateTime(clock.getAsLong()))) {
+            rememberSubject(subject.getSubject(),
+                    new Watermark(subject.getIssuedUntil(), toEpochMillis(subject.getExpiresAt())));
+            loaded++;
+        }
+        if (loaded > 0) {
+            logger.info("Lista de tokens revocados cargada: {} entradas vigentes", loaded);
+        }
+    }
+
+    public boolean revoke(String jti, long expiresAtMillis) {
+        if (jti == null || jti.isEmpty() || expiresAtMillis <= clock.getAsLong() || revoked.containsKey(jti)) {
+            return false;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, toLocalDateTime(expiresAtMillis)));
+        afterCommit(() -> {
+            if (remember(jti, expiresAtMillis)) {
+                revocations.increment();
+            }
+        });
+        return true;
+    }
+
+    public boolean revokeSubject(String subject, long issuedUntilSeconds, long expiresAtMillis) {
+        if (subject == null || subject.isEmpty() || expiresAtMillis <= clock.getAsLong()) {
+            return false;
+        }
+        Watermark watermark = new Watermark(issuedUntilSeconds, expiresAtMillis);
+        Watermark current = subjects.get(subject);
+        Watermark merged = current == null ? watermark : Watermark.max(current, watermark);
+        revokedSubjectRepository.save(new RevokedSubject(subject, merged.issuedUntil, toLocalDateTime(merged.expiresAt)));
+        afterCommit(() -> {
+            rememberSubject(subject, merged);
+            revocations.increment();
+        });
+        return true;
+    }
+
+    public long issuedUntil(String subject) {
+        Watermark watermark = subject == null ? null : subjects.get(subject);
+        return watermark != null && watermark.expiresAt > clock.getAsLong() ? watermark.issuedUntil : Long.MIN_VALUE;
+    }
+
+    public boolean isRevoked(String jti, String subject, Long issuedAtSeconds) {
+        if (isRevoked(jti)) {
+            return true;
+        }
+        long issuedUntil = issuedUntil(subject);
+        return issuedUntil != Long.MIN_VALUE && (issuedAtSeconds == null || issuedAtSeconds <= issuedUntil);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > clock.getAsLong();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${token-denylist.purge-interval}")
+    public int purge() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        Map.Entry<Long, Set<String>> bucket;
+        ConcurrentNavigableMap<Long, Set<String>> expired = buckets.headMap(now / bucketWidthMillis);
+        while ((bucket = expired.pollFirstEntry()) != null) {
+            for (String jti : bucket.getValue()) {
+                if (revoked.remove(jti) != null) {
+                    removed++;
+                }
+            }
+        }
+        ConcurrentNavigableMap<Long, Set<String>> expiredSubjects = subjectBuckets.headMap(now / bucketWidthMillis);
+        while ((bucket = expiredSubjects.pollFirstEntry()) != null) {
+            for (String subject : bucket.getValue()) {
+                Watermark watermark = subjects.get(subject);
+                if (watermark != null && watermark.expiresAt <= now && subjects.remove(subject, watermark)) {
+                    removed++;
+                }
+            }
+        }
+        purged.increment(removed);
+
+        try {
+            revokedTokenRepository.deleteExpired(toLocalDateTime(now));
+            revokedSubjectRepository.deleteExpired(toLocalDateTime(now));
+        } catch (Exception ex) {
+            logger.warn("No se pudieron eliminar los tokens revocados expirados: {}", ex.getMessage());
+        }
+        return removed;
+    }
+
+    private boolean remember(String jti, long expiresAtMillis) {
+        if (revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+            return false;
+        }
+        buckets.computeIfAbsent(expiresAtMillis / bucketWidthMillis, key -> ConcurrentHashMap.newKeySet()).add(jti);
+        return true;
+    }
+
+    private void rememberSubject(String subject, Watermark watermark) {
+        Watermark merged = subjects.merge(subject, watermark, Watermark::max);
+        subjectBuckets.computeIfAbsent(merged.expiresAt / bucketWidthMillis, key -> ConcurrentHashMap.newKeySet()).add(subject);
+    }
+
+    // A rolled-back revocation never reaches memory; outside a transaction the repository has already committed
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Watermark {
+        private final long issuedUntil;
+        private final long expiresAt;
+
+        private Watermark(long issuedUntil, long expiresAt) {
+            this.issuedUntil = issuedUntil;
+            this.expiresAt = expiresAt;
+        }
+
+        private static Watermark max(Watermark a, Watermark b) {
+            return new Watermark(Math.max(a.issuedUntil, b.issuedUntil), Math.max(a.expiresAt, b.expiresAt));
+        }
+    }
+}
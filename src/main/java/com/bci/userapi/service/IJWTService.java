@@ -1,8 +1,14 @@
 package com.bci.userapi.service;
 
+import io.jsonwebtoken.Claims;
+
+import java.util.Optional;
+
 public interface IJWTService {
     String generateToken(String email);
     boolean validateToken(String token);
     String getEmailFromToken(String token);
+    Optional<Claims> parseClaims(String token);
+    boolean revokeToken(String token);
+    boolean revokeAllTokens(String email);
 }
-
@@ -0,0 +1,10 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.dto.UserBatchResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+
+import java.util.List;
+
+public interface IUserBatchService {
+    UserBatchResponseDTO createUsers(List<UserRequestDTO> userRequests);
+}
@@ -0,0 +1,7 @@
+package com.bci.userapi.service;
+
+import java.io.OutputStream;
+
+public interface IUserExportService {
+    long exportUsers(OutputStream outputStream);
+}
@@ -3,20 +3,28 @@ package com.bci.userapi.service;
 import com.bci.userapi.dto.ChangePasswordRequestDTO;
 import com.bci.userapi.dto.ChangePasswordResponseDTO;
 import com.bci.userapi.dto.DeleteUserResponseDTO;
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.LogoutResponseDTO;
 import com.bci.userapi.dto.UserDetailResponseDTO;
-import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.dto.UserPageResponseDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateRequestDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
+import com.bci.userapi.pagination.UserPage;
+import com.bci.userapi.version.ResourceVersion;
+import com.bci.userapi.version.Versioned;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 public interface IUserService {
     UserResponseDTO createUser(UserRequestDTO userRequest);
-    UserDetailResponseDTO getUserById(UUID id);
-    List<UserListResponseDTO> getAllUsers();
+    UserResponseDTO login(LoginRequestDTO loginRequest);
+    LogoutResponseDTO logout(String token);
+    Versioned<UserDetailResponseDTO> getUserById(UUID id, Predicate<ResourceVersion> unchanged);
+    UserPage getUserPage(String cursor, Integer size);
+    UserPageResponseDTO getAllUsers(UserPage page);
     UserUpdateResponseDTO updateUser(UUID id, UserUpdateRequestDTO userRequest);
     ChangePasswordResponseDTO changePassword(UUID id, ChangePasswordRequestDTO request);
     DeleteUserResponseDTO deleteUser(UUID id);
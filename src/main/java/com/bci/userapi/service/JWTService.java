@@ -1,11 +1,16 @@
 package com.bci.userapi.service;
 
+import com.bci.userapi.security.JwtMinter;
+import com.bci.userapi.security.TokenDenylist;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.WeakKeyException;
 import org.slf4j.Logger;
@@ -14,26 +19,57 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JWTService implements IJWTService {
 
     private static final Logger logger = LoggerFactory.getLogger(JWTService.class);
     
+    private static final ThreadLocal<MessageDigest> TOKEN_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    });
+
     private final SecretKey secretKey;
     private final long expirationTime;
+    private final JwtParser jwtParser;
+    private final JwtMinter jwtMinter;
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+    private final TokenDenylist tokenDenylist;
 
     public JWTService(@Value("${jwt.secret}") String secret,
-                      @Value("${jwt.expiration}") long expirationTime) {
+                      @Value("${jwt.expiration}") long expirationTime,
+                      @Value("${jwt.cache.max-size}") long cacheMaxSize,
+                      TokenDenylist tokenDenylist) {
         try {
             if (secret == null || secret.trim().isEmpty()) {
                 throw new IllegalArgumentException("La clave secreta JWT no puede estar vacía");
             }
+            if (cacheMaxSize < 0) {
+                throw new IllegalArgumentException("jwt.cache.max-size no puede ser negativo");
+            }
             
             this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
             this.expirationTime = expirationTime;
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(secretKey)
+                    .build();
+            this.jwtMinter = new JwtMinter(secretKey);
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new UntilTokenExpiry())
+                    .build();
+            this.tokenDenylist = tokenDenylist;
         } catch (WeakKeyException ex) {
             logger.error("Error: La clave secreta JWT es demasiado débil para el algoritmo HS512. Se requieren al menos 64 caracteres (512 bits)", ex);
             throw new IllegalArgumentException("La clave secreta JWT es demasiado débil. Se requieren al menos 64 caracteres para HS512", ex);
@@ -50,19 +86,9 @@ public class JWTService implements IJWTService {
                 throw new IllegalArgumentException("El email no puede estar vacío para generar el token");
             }
             
-            Date now = new Date();
-            Date expiryDate = new Date(now.getTime() + expirationTime);
-
-            return Jwts.builder()
-                    .setSubject(email)
-                    .setIssuedAt(now)
-                    .setExpiration(expiryDate)
-                    .signWith(secretKey, SignatureAlgorithm.HS512)
-                    .compact();
-            
-        } catch (WeakKeyException ex) {
-            logger.error("Error: La clave secreta es demasiado débil para generar el token - {}", ex.getMessage(), ex);
-            throw new RuntimeException("Error de configuración: La clave secreta JWT es demasiado débil", ex);
+            long now = System.currentTimeMillis();
+            return jwtMinter.mint(email, UUID.randomUUID().toString(), nextIssuedAt(email, now), (now + expirationTime) / 1000);
+
         } catch (IllegalArgumentException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -78,14 +104,10 @@ public class JWTService implements IJWTService {
                 return false;
             }
             
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            
+            verifiedClaims(token);
             return true;
             
-        } catch (ExpiredJwtException | MalformedJwtException | UnsupportedJwtException | IllegalArgumentException ex) {
+        } catch (JwtException | IllegalArgumentException ex) {
             return false;
         } catch (Exception ex) {
             logger.error("Error inesperado al validar token JWT: {}", ex.getMessage(), ex);
@@ -100,13 +122,7 @@ public class JWTService implements IJWTService {
                 throw new IllegalArgumentException("El token no puede estar vacío");
             }
             
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            return claims.getSubject();
+            return verifiedClaims(token).getSubject();
             
         } catch (ExpiredJwtException ex) {
             logger.error("Error: Token JWT expirado al intentar extraer email", ex);
@@ -119,5 +135,87 @@ public class JWTService implements IJWTService {
             throw new RuntimeException("Error al extraer email del token", ex);
         }
     }
-}
 
+    @Override
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            if (token == null || token.trim().isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(verifiedClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        } catch (Exception ex) {
+            logger.error("Error inesperado al parsear token JWT: {}", ex.getMessage(), ex);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean revokeToken(String token) {
+        Optional<Claims> claims = parseClaims(token);
+        if (!claims.isPresent() || claims.get().getId() == null || claims.get().getExpiration() == null) {
+            return false;
+        }
+        verifiedTokens.invalidate(digest(token));
+        return tokenDenylist.revoke(claims.get().getId(), claims.get().getExpiration().getTime());
+    }
+
+    @Override
+    public boolean revokeAllTokens(String email) {
+        long now = System.currentTimeMillis();
+        return tokenDenylist.revokeSubject(email, nextIssuedAt(email, now), now + expirationTime);
+    }
+
+    // iat has second precision: tokens minted in the same second as a revocation are pushed past its watermark,
+    // and a later revocation in that second moves the watermark over them
+    private long nextIssuedAt(String email, long now) {
+        long issuedUntil = tokenDenylist.issuedUntil(email);
+        return issuedUntil == Long.MIN_VALUE ? now / 1000 : Math.max(now / 1000, issuedUntil + 1);
+    }
+
+    private Claims verifiedClaims(String token) {
+        ByteBuffer key = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(key, claims);
+            }
+        }
+        Long issuedAt = claims.getIssuedAt() == null ? null : claims.getIssuedAt().getTime() / 1000;
+        if (tokenDenylist.isRevoked(claims.getId(), claims.getSubject(), issuedAt)) {
+            throw new JwtException("Token revocado");
+        }
+        return claims;
+    }
+
+    long verifiedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest digest = TOKEN_DIGEST.get();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
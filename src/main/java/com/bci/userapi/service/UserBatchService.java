@@ -0,0 +1,223 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.bloom.EmailBloomFilter;
+import com.bci.userapi.dto.UserBatchItemResponseDTO;
+import com.bci.userapi.dto.UserBatchResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.exception.EmailAlreadyExistsException;
+import com.bci.userapi.exception.PasswordHashingBusyException;
+import com.bci.userapi.factory.UserFactory;
+import com.bci.userapi.mapper.IUserMapper;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.security.PasswordHashingExecutor;
+import com.bci.userapi.validator.UserRequestValidator;
+import com.bci.userapi.validator.plan.ValidationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+public class UserBatchService implements IUserBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBatchService.class);
+
+    private final UserRepository userRepository;
+    private final UserFactory userFactory;
+    private final IUserMapper userMapper;
+    private final IJWTService jwtService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserRequestValidator userRequestValidator;
+    private final EmailBloomFilter emailBloomFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+
+    public UserBatchService(UserRepository userRepository,
+                            UserFactory userFactory,
+                            IUserMapper userMapper,
+                            IJWTService jwtService,
+                            PasswordHashingExecutor passwordHashingExecutor,
+                            UserRequestValidator userRequestValidator,
+                            EmailBloomFilter emailBloomFilter,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${batch.users.max-size}") int maxSize) {
+        this.userRepository = userRepository;
+        this.userFactory = userFactory;
+        this.userMapper = userMapper;
+        this.jwtService = jwtService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.userRequestValidator = userRequestValidator;
+        this.emailBloomFilter = emailBloomFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public UserBatchResponseDTO createUsers(List<UserRequestDTO> userRequests) {
+        if (userRequests == null || userRequests.isEmpty()) {
+            throw new IllegalArgumentException("Debe incluir al menos un usuario");
+        }
+        if (userRequests.size() > maxSize) {
+            throw new IllegalArgumentException("El lote no puede superar " + maxSize + " usuarios");
+        }
+
+        try {
+            Map<Integer, String> errors = new HashMap<>();
+            Set<String> emails = new HashSet<>();
+            for (int i = 0; i < userRequests.size(); i++) {
+                String error = validate(userRequests.get(i));
+                if (error != null) {
+                    errors.put(i, error);
+                } else if (!emails.add(userRequests.get(i).getEmail())) {
+                    errors.put(i, "El correo está repetido en el lote");
+                }
+            }
+
+            Set<String> existing = emails.isEmpty()
+                    ? new HashSet<>()
+                    : userRepository.findExistingEmails(emails);
+
+            List<Integer> pending = new ArrayList<>();
+            for (int i = 0; i < userRequests.size(); i++) {
+                if (errors.containsKey(i)) {
+                    continue;
+                }
+                if (existing.contains(userRequests.get(i).getEmail())) {
+                    errors.put(i, "El correo ya registrado");
+                    continue;
+                }
+                pending.add(i);
+            }
+
+            // Hashing and token minting happen before the transaction, which only holds the inserts
+            String[] hashes = hashPasswords(userRequests, pending, errors);
+            Map<Integer, User> users = new LinkedHashMap<>();
+            for (int index : pending) {
+                if (hashes[index] != null) {
+                    UserRequestDTO userRequest = userRequests.get(index);
+                    String token = jwtService.generateToken(userRequest.getEmail());
+                    users.put(index, userFactory.createUser(userRequest, token, hashes[index]));
+                }
+            }
+
+            Map<Integer, User> saved = save(userRequests, users, errors);
+            for (User user : saved.values()) {
+                emailBloomFilter.add(user.getEmail());
+            }
+
+            UserBatchItemResponseDTO[] results = new UserBatchItemResponseDTO[userRequests.size()];
+            for (Map.Entry<Integer, User> user : saved.entrySet()) {
+                results[user.getKey()] = new UserBatchItemResponseDTO(user.getKey(), true,
+                        userMapper.toResponseDTO(user.getValue()), null);
+            }
+            for (Map.Entry<Integer, String> error : errors.entrySet()) {
+                results[error.getKey()] = new UserBatchItemResponseDTO(error.getKey(), false, null, error.getValue());
+            }
+
+            return new UserBatchResponseDTO(saved.size(), errors.size(), Arrays.asList(results));
+
+        } catch (PasswordHashingBusyException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Error al crear lote de {} usuarios - Error: {}", userRequests.size(), ex.getMessage(), ex);
+            throw new RuntimeException("Error al crear lote de usuarios", ex);
+        }
+    }
+
+    // Hashes run in parallel on the hashing pool, one wave of pool threads at a time so a batch cannot fill its queue
+    private String[] hashPasswords(List<UserRequestDTO> userRequests, List<Integer> pending, Map<Integer, String> errors) {
+        String[] hashes = new String[userRequests.size()];
+        PasswordHashingBusyException busy = null;
+        int hashed = 0;
+        int wave = passwordHashingExecutor.threads();
+        for (int from = 0; from < pending.size(); from += wave) {
+            List<Integer> indexes = pending.subList(from, Math.min(from + wave, pending.size()));
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int index : indexes) {
+                futures.add(passwordHashingExecutor.encodeAsync(userRequests.get(index).getPassword()));
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                try {
+                    hashes[indexes.get(i)] = futures.get(i).join();
+                    hashed++;
+                } catch (CompletionException ex) {
+                    if (!(ex.getCause() instanceof PasswordHashingBusyException)) {
+                        throw ex;
+                    }
+                    busy = (PasswordHashingBusyException) ex.getCause();
+                    errors.put(indexes.get(i), busy.getMessage());
+                }
+            }
+        }
+        if (busy != null && hashed == 0) {
+            throw busy;
+        }
+        return hashes;
+    }
+
+    private Map<Integer, User> save(List<UserRequestDTO> userRequests, Map<Integer, User> users, Map<Integer, String> errors) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                List<User> saved = userRepository.saveAll(new ArrayList<>(users.values()));
+                userRepository.flush();
+                Map<Integer, User> byIndex = new LinkedHashMap<>();
+                Iterator<User> next = saved.iterator();
+                for (Integer index : users.keySet()) {
+                    byIndex.put(index, next.next());
+                }
+                return byIndex;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (!EmailAlreadyExistsException.isEmailConstraintViolation(ex)) {
+                throw ex;
+            }
+            // A concurrent registration took an email after findExistingEmails: insert one by one to isolate it
+            return saveEach(userRequests, users, errors);
+        }
+    }
+
+    private Map<Integer, User> saveEach(List<UserRequestDTO> userRequests, Map<Integer, User> users, Map<Integer, String> errors) {
+        Map<Integer, User> saved = new LinkedHashMap<>();
+        for (Map.Entry<Integer, User> entry : users.entrySet()) {
+            // The rolled back entities already carry generated ids, so each insert starts from a fresh one
+            User rolledBack = entry.getValue();
+            User user = userFactory.createUser(userRequests.get(entry.getKey()), rolledBack.getToken(), rolledBack.getPassword());
+            try {
+                saved.put(entry.getKey(), transactionTemplate.execute(status -> userRepository.saveAndFlush(user)));
+            } catch (DataIntegrityViolationException ex) {
+                if (!EmailAlreadyExistsException.isEmailConstraintViolation(ex)) {
+                    throw ex;
+                }
+                errors.put(entry.getKey(), "El correo ya registrado");
+            }
+        }
+        return saved;
+    }
+
+    private String validate(UserRequestDTO userRequest) {
+        if (userRequest == null) {
+            return "El usuario es requerido";
+        }
+        List<ValidationError> errors = userRequestValidator.check(userRequest);
+        return errors.isEmpty() ? null : errors.get(0).getMessage();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.mapper.IUserMapper;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportService implements IUserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+    private static final byte NEW_LINE = '\n';
+
+    private final UserRepository userRepository;
+    private final IUserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public UserExportService(UserRepository userRepository,
+                             IUserMapper userMapper,
+                             ObjectMapper objectMapper,
+                             @Value("${export.users.chunk-size}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque de exportación debe ser mayor a cero");
+        }
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream outputStream) {
+        long exported = 0;
+        try (Stream<UserListView> users = userRepository.streamAllListViews(chunkSize)) {
+            List<UserListView> chunk = new ArrayList<>(chunkSize);
+            Iterator<UserListView> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    exported += writeChunk(chunk, outputStream);
+                }
+            }
+            exported += writeChunk(chunk, outputStream);
+            return exported;
+        } catch (Exception ex) {
+            logger.error("Error al exportar usuarios tras {} registros - Error: {}", exported, ex.getMessage(), ex);
+            throw new RuntimeException("Error al exportar usuarios", ex);
+        }
+    }
+
+    // Projections are never managed, so the persistence context stays empty; each chunk costs one phones query
+    private int writeChunk(List<UserListView> chunk, OutputStream outputStream) throws IOException {
+        int written = chunk.size();
+        if (written == 0) {
+            return 0;
+        }
+        List<UUID> userIds = chunk.stream()
+                .map(UserListView::getId)
+                .collect(Collectors.toList());
+        List<PhoneView> phones = userRepository.findPhonesByUserIds(userIds);
+        for (UserListResponseDTO user : userMapper.toListResponseDTOList(chunk, phones)) {
+            outputStream.write(objectMapper.writeValueAsBytes(user));
+            outputStream.write(NEW_LINE);
+        }
+        outputStream.flush();
+        chunk.clear();
+        return written;
+    }
+}
@@ -1,40 +1,58 @@
 package com.bci.userapi.service;
 
+import com.bci.userapi.activity.LastLoginRecorder;
+import com.bci.userapi.bloom.EmailBloomFilter;
+import com.bci.userapi.cache.UserEntityCache;
 import com.bci.userapi.dto.ChangePasswordRequestDTO;
 import com.bci.userapi.dto.ChangePasswordResponseDTO;
 import com.bci.userapi.dto.DeleteUserResponseDTO;
-import com.bci.userapi.dto.PhoneDTO;
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.LogoutResponseDTO;
 import com.bci.userapi.dto.UserDetailResponseDTO;
-import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.dto.UserPageResponseDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateRequestDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
-import com.bci.userapi.entity.Phone;
 import com.bci.userapi.entity.User;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
+import com.bci.userapi.exception.InvalidCredentialsException;
 import com.bci.userapi.exception.InvalidEmailFormatException;
 import com.bci.userapi.exception.InvalidPasswordFormatException;
+import com.bci.userapi.exception.PasswordHashingBusyException;
 import com.bci.userapi.exception.PasswordMismatchException;
+import com.bci.userapi.exception.RequestValidationException;
 import com.bci.userapi.exception.UserNotFoundException;
 import com.bci.userapi.factory.UserFactory;
 import com.bci.userapi.mapper.IUserMapper;
+import com.bci.userapi.pagination.PageSizePolicy;
+import com.bci.userapi.pagination.UserCursor;
+import com.bci.userapi.pagination.UserPage;
 import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
 import com.bci.userapi.validator.ChangePasswordRequestValidator;
 import com.bci.userapi.validator.EmailDuplicationValidator;
 import com.bci.userapi.validator.EmailValidator;
 import com.bci.userapi.validator.PasswordValidator;
 import com.bci.userapi.validator.UserRequestValidator;
 import com.bci.userapi.validator.UserUpdateRequestValidator;
+import com.bci.userapi.version.ResourceVersion;
+import com.bci.userapi.version.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -53,6 +71,11 @@ public class UserService implements IUserService {
     private final EmailDuplicationValidator emailDuplicationValidator;
     private final UserUpdateRequestValidator updateValidator;
     private final ChangePasswordRequestValidator changePasswordValidator;
+    private final PageSizePolicy pageSizePolicy;
+    private final EmailBloomFilter emailBloomFilter;
+    private final UserEntityCache userEntityCache;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final String dummyPasswordHash;
 
     public UserService(UserRepository userRepository,
                        UserRequestValidator validator,
@@ -64,7 +87,11 @@ public class UserService implements IUserService {
                        PasswordValidator passwordValidator,
                        EmailDuplicationValidator emailDuplicationValidator,
                        UserUpdateRequestValidator updateValidator,
-                       ChangePasswordRequestValidator changePasswordValidator) {
+                       ChangePasswordRequestValidator changePasswordValidator,
+                       PageSizePolicy pageSizePolicy,
+                       EmailBloomFilter emailBloomFilter,
+                       UserEntityCache userEntityCache,
+                       LastLoginRecorder lastLoginRecorder) {
         this.userRepository = userRepository;
         this.validator = validator;
         this.userFactory = userFactory;
@@ -76,6 +103,11 @@ public class UserService implements IUserService {
         this.emailDuplicationValidator = emailDuplicationValidator;
         this.updateValidator = updateValidator;
         this.changePasswordValidator = changePasswordValidator;
+        this.pageSizePolicy = pageSizePolicy;
+        this.emailBloomFilter = emailBloomFilter;
+        this.userEntityCache = userEntityCache;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.dummyPasswordHash = passwordEncoder.encode(UUID.randomUUID().toString());
     }
 
     @Override
@@ -86,11 +118,20 @@ public class UserService implements IUserService {
 
             String token = jwtService.generateToken(userRequest.getEmail());
             User user = userFactory.createUser(userRequest, token);
-            user = userRepository.save(user);
+            try {
+                user = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException ex) {
+                if (EmailAlreadyExistsException.isEmailConstraintViolation(ex)) {
+                    throw new EmailAlreadyExistsException("El correo ya registrado");
+                }
+                throw ex;
+            }
+            emailBloomFilter.add(user.getEmail());
 
             return userMapper.toResponseDTO(user);
 
-        } catch (EmailAlreadyExistsException | InvalidEmailFormatException | InvalidPasswordFormatException ex) {
+        } catch (EmailAlreadyExistsException | InvalidEmailFormatException | InvalidPasswordFormatException
+                 | RequestValidationException | PasswordHashingBusyException ex) {
             throw ex;
         } catch (Exception ex) {
             logger.error("Error al crear usuario para email: {} - Error: {}",
@@ -99,13 +140,62 @@ public class UserService implements IUserService {
         }
     }
 
+    @Override
+    @Transactional
+    public UserResponseDTO login(LoginRequestDTO loginRequest) {
+        try {
+            Optional<User> candidate = userRepository.findByEmail(loginRequest.getEmail())
+                    .filter(found -> Boolean.TRUE.equals(found.getIsActive()));
+            if (!candidate.isPresent()) {
+                // Same hashing cost as a wrong password, so the response time does not reveal whether the email exists
+                passwordEncoder.matches(loginRequest.getPassword(), dummyPasswordHash);
+                throw new InvalidCredentialsException("Credenciales inválidas");
+            }
+            User user = candidate.get();
+            if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+                throw new InvalidCredentialsException("Credenciales inválidas");
+            }
+
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                user.setPassword(passwordEncoder.encode(loginRequest.getPassword()));
+            }
+
+            // Dirty checking writes the new token and hash at commit; last_login is written behind by LastLoginRecorder
+            LocalDateTime now = LocalDateTime.now();
+            user.setToken(jwtService.generateToken(user.getEmail()));
+            lastLoginRecorder.record(user.getEmail(), now);
+
+            UserResponseDTO response = userMapper.toResponseDTO(user);
+            response.setLastLogin(now);
+            return response;
+
+        } catch (InvalidCredentialsException | PasswordHashingBusyException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Error al iniciar sesión para email: {} - Error: {}",
+                    loginRequest.getEmail(), ex.getMessage(), ex);
+            throw new RuntimeException("Error al iniciar sesión", ex);
+        }
+    }
+
+    @Override
+    public LogoutResponseDTO logout(String token) {
+        jwtService.revokeToken(token);
+        return new LogoutResponseDTO("Sesión cerrada con éxito");
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public UserDetailResponseDTO getUserById(UUID id) {
+    public Versioned<UserDetailResponseDTO> getUserById(UUID id, Predicate<ResourceVersion> unchanged) {
         try {
+            // Entity rather than a column projection, so a miss fills the second-level cache; phones load only when mapped
             User user = userRepository.findById(id)
                     .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
-            return userMapper.toDetailResponseDTO(user);
+            ResourceVersion version = ResourceVersion.of(user.getModified());
+            if (unchanged.test(version)) {
+                return new Versioned<>(null, version);
+            }
+            return new Versioned<>(userMapper.toDetailResponseDTO(user), version);
         } catch (UserNotFoundException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -116,12 +206,39 @@ public class UserService implements IUserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserListResponseDTO> getAllUsers() {
+    public UserPage getUserPage(String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        UserCursor after = cursor == null || cursor.isEmpty() ? null : UserCursor.decode(cursor);
+        try {
+            PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+            List<UserListView> users = after == null
+                    ? userRepository.findFirstPage(pageRequest)
+                    : userRepository.findPageAfter(after.getCreated(), after.getId(), pageRequest);
+
+            String next = null;
+            if (users.size() > pageSize) {
+                users = users.subList(0, pageSize);
+                UserListView last = users.get(pageSize - 1);
+                next = new UserCursor(last.getCreated(), last.getId()).encode();
+            }
+            return new UserPage(users, next);
+        } catch (Exception ex) {
+            logger.error("Error al obtener lista de usuarios - Error: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Error al obtener lista de usuarios", ex);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageResponseDTO getAllUsers(UserPage page) {
         try {
-            List<User> users = userRepository.findAll();
-            return users.stream()
-                    .map(userMapper::toListResponseDTO)
+            List<UUID> userIds = page.getUsers().stream()
+                    .map(UserListView::getId)
                     .collect(Collectors.toList());
+            List<PhoneView> phones = userIds.isEmpty()
+                    ? Collections.emptyList()
+                    : userRepository.findPhonesByUserIds(userIds);
+            return new UserPageResponseDTO(userMapper.toListResponseDTOList(page.getUsers(), phones), page.getNext());
         } catch (Exception ex) {
             logger.error("Error al obtener lista de usuarios - Error: {}", ex.getMessage(), ex);
             throw new RuntimeException("Error al obtener lista de usuarios", ex);
@@ -137,23 +254,26 @@ public class UserService implements IUserService {
 
             updateValidator.validate(userRequest);
 
-            if (!user.getEmail().equals(userRequest.getEmail())) {
+            boolean emailChanged = !user.getEmail().equals(userRequest.getEmail());
+            if (emailChanged) {
                 emailDuplicationValidator.validate(userRequest.getEmail());
             }
 
+            String previousEmail = user.getEmail();
             user.setName(userRequest.getName());
             user.setEmail(userRequest.getEmail());
             user.setModified(LocalDateTime.now());
 
             if (userRequest.getPhones() != null && !userRequest.getPhones().isEmpty()) {
-                user.getPhones().clear();
-                for (PhoneDTO phoneDTO : userRequest.getPhones()) {
-                    Phone phone = userMapper.toPhoneEntity(phoneDTO, user);
-                    user.getPhones().add(phone);
-                }
+                userMapper.mergePhones(user, userRequest.getPhones());
             }
 
             user = userRepository.save(user);
+            if (emailChanged) {
+                jwtService.revokeAllTokens(previousEmail);
+                emailBloomFilter.add(userRequest.getEmail());
+                emailBloomFilter.markStale();
+            }
             return userMapper.toUpdateResponseDTO(user);
 
         } catch (UserNotFoundException | IllegalArgumentException | EmailAlreadyExistsException | InvalidEmailFormatException ex) {
@@ -176,10 +296,12 @@ public class UserService implements IUserService {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
             user.setModified(LocalDateTime.now());
             userRepository.save(user);
+            jwtService.revokeAllTokens(user.getEmail());
 
             return new ChangePasswordResponseDTO("Contraseña cambiada con éxito");
 
-        } catch (UserNotFoundException | InvalidPasswordFormatException | PasswordMismatchException ex) {
+        } catch (UserNotFoundException | InvalidPasswordFormatException | PasswordMismatchException
+                 | PasswordHashingBusyException ex) {
             throw ex;
         } catch (Exception ex) {
             logger.error("Error al cambiar contraseña ID: {} - Error: {}", id, ex.getMessage(), ex);
@@ -191,9 +313,11 @@ public class UserService implements IUserService {
     @Transactional
     public DeleteUserResponseDTO deleteUser(UUID id) {
         try {
-            User user = userRepository.findById(id)
+            String email = userRepository.deleteByIdReturningEmail(id)
                     .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
-            userRepository.delete(user);
+            jwtService.revokeAllTokens(email);
+            userEntityCache.evict(id);
+            emailBloomFilter.markStale();
             return new DeleteUserResponseDTO("Usuario eliminado con éxito");
         } catch (UserNotFoundException ex) {
             throw ex;
@@ -203,4 +327,3 @@ public class UserService implements IUserService {
         }
     }
 }
-
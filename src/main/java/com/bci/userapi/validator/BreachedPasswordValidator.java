@@ -0,0 +1,130 @@
+package com.bci.userapi.validator;
+
+import com.bci.userapi.breach.BreachedHashFile;
+import com.bci.userapi.exception.InvalidPasswordFormatException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Component
+public class BreachedPasswordValidator implements IValidator<String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreachedPasswordValidator.class);
+    private static final ValidationResult BREACHED =
+            ValidationResult.invalid("La contraseña aparece en filtraciones conocidas");
+
+    private final Path path;
+    private final int hashBytes;
+    private final ThreadLocal<Sha1> sha1 = ThreadLocal.withInitial(Sha1::new);
+    private final Counter matches;
+    private final Counter reloads;
+    private volatile BreachedHashFile hashes;
+
+    public BreachedPasswordValidator(@Value("${breached-passwords.file}") String file,
+                                     @Value("${breached-passwords.hash-bytes}") int hashBytes,
+                                     MeterRegistry meterRegistry) {
+        if (hashBytes < 1 || hashBytes > BreachedHashFile.SHA1_BYTES) {
+            throw new IllegalArgumentException("breached-passwords.hash-bytes debe estar entre 1 y "
+                    + BreachedHashFile.SHA1_BYTES);
+        }
+        this.path = file == null || file.trim().isEmpty() ? null : Paths.get(file.trim());
+        this.hashBytes = hashBytes;
+        this.matches = Counter.builder("breached.passwords.matches").register(meterRegistry);
+        this.reloads = Counter.builder("breached.passwords.reloads").register(meterRegistry);
+        Gauge.builder("breached.passwords.entries", this, BreachedPasswordValidator::size).register(meterRegistry);
+        reload();
+    }
+
+    @Override
+    public void validate(String password) {
+        ValidationResult result = check(password);
+        if (!result.isValid()) {
+            throw new InvalidPasswordFormatException(result.getMessage());
+        }
+    }
+
+    @Override
+    public ValidationResult check(String password) {
+        BreachedHashFile current = hashes;
+        if (current == null || password == null) {
+            return ValidationResult.valid();
+        }
+        if (current.contains(sha1.get().digest(password))) {
+            matches.increment();
+            return BREACHED;
+        }
+        return ValidationResult.valid();
+    }
+
+    // Replace the file with an atomic rename: pages of the previous mapping stay valid until it is collected
+    @Scheduled(fixedDelayString = "${breached-passwords.reload-interval}")
+    public boolean reload() {
+        if (path == null) {
+            return false;
+        }
+        BreachedHashFile current = hashes;
+        try {
+            if (!Files.exists(path)) {
+                if (current == null) {
+                    logger.warn("No existe el archivo de contraseñas filtradas {}", path);
+                }
+                return false;
+            }
+            if (current != null && current.isCurrent(Files.readAttributes(path, BasicFileAttributes.class))) {
+                return false;
+            }
+            BreachedHashFile loaded = BreachedHashFile.open(path, hashBytes);
+            hashes = loaded;
+            reloads.increment();
+            logger.info("Archivo de contraseñas filtradas cargado: {} ({} hashes de {} bytes)",
+                    path, loaded.size(), hashBytes);
+            return true;
+        } catch (Exception ex) {
+            logger.warn("No se pudo cargar el archivo de contraseñas filtradas {}: {}", path, ex.getMessage());
+            return false;
+        }
+    }
+
+    public long size() {
+        BreachedHashFile current = hashes;
+        return current == null ? 0 : current.size();
+    }
+
+    private static final class Sha1 {
+
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[BreachedHashFile.SHA1_BYTES];
+
+        private Sha1() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-1 no está disponible", ex);
+            }
+        }
+
+        private byte[] digest(String password) {
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException ex) {
+                throw new IllegalStateException("Error al calcular SHA-1", ex);
+            }
+            return hash;
+        }
+    }
+}
@@ -9,9 +9,12 @@ import org.springframework.stereotype.Component;
 public class ChangePasswordRequestValidator {
     
     private final PasswordValidator passwordValidator;
+    private final BreachedPasswordValidator breachedPasswordValidator;
 
-    public ChangePasswordRequestValidator(PasswordValidator passwordValidator) {
+    public ChangePasswordRequestValidator(PasswordValidator passwordValidator,
+                                          BreachedPasswordValidator breachedPasswordValidator) {
         this.passwordValidator = passwordValidator;
+        this.breachedPasswordValidator = breachedPasswordValidator;
     }
 
     public void validate(ChangePasswordRequestDTO request) {
@@ -20,6 +23,7 @@ public class ChangePasswordRequestValidator {
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new PasswordMismatchException("Las contraseñas no coinciden");
         }
+        breachedPasswordValidator.validate(request.getPassword());
     }
 }
 
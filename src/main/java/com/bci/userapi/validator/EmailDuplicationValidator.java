@@ -1,5 +1,6 @@
 package com.bci.userapi.validator;
 
+import com.bci.userapi.bloom.EmailBloomFilter;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
 import com.bci.userapi.repository.UserRepository;
 import org.slf4j.Logger;
@@ -10,21 +11,34 @@ import org.springframework.stereotype.Component;
 public class EmailDuplicationValidator implements IValidator<String> {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailDuplicationValidator.class);
+    private static final ValidationResult ALREADY_REGISTERED = ValidationResult.invalid("El correo ya registrado");
     private final UserRepository userRepository;
+    private final EmailBloomFilter emailBloomFilter;
 
-    public EmailDuplicationValidator(UserRepository userRepository) {
+    public EmailDuplicationValidator(UserRepository userRepository, EmailBloomFilter emailBloomFilter) {
         this.userRepository = userRepository;
+        this.emailBloomFilter = emailBloomFilter;
     }
 
     @Override
     public void validate(String email) {
+        ValidationResult result = check(email);
+        if (!result.isValid()) {
+            throw new EmailAlreadyExistsException(result.getMessage());
+        }
+    }
+
+    @Override
+    public ValidationResult check(String email) {
         try {
-            boolean exists = userRepository.findByEmail(email).isPresent();
-            if (exists) {
-                throw new EmailAlreadyExistsException("El correo ya registrado");
+            if (!emailBloomFilter.mightContain(email)) {
+                return ValidationResult.valid();
+            }
+            if (userRepository.existsByEmail(email)) {
+                return ALREADY_REGISTERED;
             }
-        } catch (EmailAlreadyExistsException ex) {
-            throw ex;
+            emailBloomFilter.recordFalsePositive();
+            return ValidationResult.valid();
         } catch (Exception ex) {
             logger.error("Error al validar duplicación de email: {} - {}", email, ex.getMessage(), ex);
             throw new RuntimeException("Error al validar duplicación de email", ex);
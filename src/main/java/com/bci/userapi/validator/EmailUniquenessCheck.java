@@ -0,0 +1,6 @@
+package com.bci.userapi.validator;
+
+public enum EmailUniquenessCheck {
+    QUERY,
+    CONSTRAINT
+}
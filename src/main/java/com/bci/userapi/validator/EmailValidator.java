@@ -1,25 +1,33 @@
 package com.bci.userapi.validator;
 
 import com.bci.userapi.exception.InvalidEmailFormatException;
+import com.bci.userapi.validator.pattern.PatternCompiler;
+import com.bci.userapi.validator.pattern.StringMatcher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 @Component
 public class EmailValidator implements IValidator<String> {
 
-    private final Pattern emailPattern;
+    private static final ValidationResult INVALID_FORMAT =
+            ValidationResult.invalid("El formato del correo no es válido");
+
+    private final StringMatcher emailMatcher;
 
     public EmailValidator(@Value("${validation.email.regex}") String emailRegex) {
-        this.emailPattern = Pattern.compile(emailRegex);
+        this.emailMatcher = PatternCompiler.compile(emailRegex);
     }
 
     @Override
     public void validate(String email) {
-        if (email == null || !emailPattern.matcher(email).matches()) {
-            throw new InvalidEmailFormatException("El formato del correo no es válido");
+        ValidationResult result = check(email);
+        if (!result.isValid()) {
+            throw new InvalidEmailFormatException(result.getMessage());
         }
     }
-}
 
+    @Override
+    public ValidationResult check(String email) {
+        return email != null && emailMatcher.matches(email) ? ValidationResult.valid() : INVALID_FORMAT;
+    }
+}
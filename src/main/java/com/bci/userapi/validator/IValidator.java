@@ -2,5 +2,6 @@ package com.bci.userapi.validator;
 
 public interface IValidator<T> {
     void validate(T object) throws RuntimeException;
-}
 
+    ValidationResult check(T object);
+}
@@ -1,25 +1,33 @@
 package com.bci.userapi.validator;
 
 import com.bci.userapi.exception.InvalidPasswordFormatException;
+import com.bci.userapi.validator.pattern.PatternCompiler;
+import com.bci.userapi.validator.pattern.StringMatcher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 @Component
 public class PasswordValidator implements IValidator<String> {
 
-    private final Pattern passwordPattern;
+    private static final ValidationResult INVALID_FORMAT =
+            ValidationResult.invalid("El formato de la contraseña no es válido");
+
+    private final StringMatcher passwordMatcher;
 
     public PasswordValidator(@Value("${validation.password.regex}") String passwordRegex) {
-        this.passwordPattern = Pattern.compile(passwordRegex);
+        this.passwordMatcher = PatternCompiler.compile(passwordRegex);
     }
 
     @Override
     public void validate(String password) {
-        if (password == null || !passwordPattern.matcher(password).matches()) {
-            throw new InvalidPasswordFormatException("El formato de la contraseña no es válido");
+        ValidationResult result = check(password);
+        if (!result.isValid()) {
+            throw new InvalidPasswordFormatException(result.getMessage());
         }
     }
-}
 
+    @Override
+    public ValidationResult check(String password) {
+        return password != null && passwordMatcher.matches(password) ? ValidationResult.valid() : INVALID_FORMAT;
+    }
+}
@@ -1,27 +1,67 @@
 package com.bci.userapi.validator;
 
+import com.bci.userapi.dto.PhoneDTO;
 import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.validator.plan.ValidationError;
+import com.bci.userapi.validator.plan.ValidationPlan;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class UserRequestValidator {
 
-    private final EmailValidator emailValidator;
-    private final PasswordValidator passwordValidator;
-    private final EmailDuplicationValidator emailDuplicationValidator;
+    private final ValidationPlan<UserRequestDTO> plan;
 
     public UserRequestValidator(EmailValidator emailValidator,
                                 PasswordValidator passwordValidator,
-                                EmailDuplicationValidator emailDuplicationValidator) {
-        this.emailValidator = emailValidator;
-        this.passwordValidator = passwordValidator;
-        this.emailDuplicationValidator = emailDuplicationValidator;
+                                BreachedPasswordValidator breachedPasswordValidator,
+                                EmailDuplicationValidator emailDuplicationValidator,
+                                MeterRegistry meterRegistry,
+                                @Value("${registration.email-uniqueness}") EmailUniquenessCheck emailUniqueness) {
+        ValidationPlan.Builder<UserRequestDTO> builder = ValidationPlan.<UserRequestDTO>builder("user-request", meterRegistry)
+                .require("name", UserRequestDTO::getName, "El nombre es requerido")
+                .require("email", UserRequestDTO::getEmail, "El correo es requerido")
+                .check("email", "format", request -> emailValidator.check(request.getEmail()).getMessage())
+                .require("password", UserRequestDTO::getPassword, "La contraseña es requerida")
+                .check("password", "format", request -> passwordValidator.check(request.getPassword()).getMessage())
+                .check("password", "breached", request -> breachedPasswordValidator.check(request.getPassword()).getMessage())
+                .check("phones", "required", request -> request.getPhones() != null && !request.getPhones().isEmpty(),
+                        "Debe incluir al menos un teléfono")
+                .check("phones", "fields", UserRequestValidator::phoneError);
+        // With CONSTRAINT the insert itself detects duplicates through users.email's unique constraint
+        if (emailUniqueness == EmailUniquenessCheck.QUERY) {
+            builder.then("email.unique", request -> emailDuplicationValidator.validate(request.getEmail()));
+        }
+        this.plan = builder.build();
     }
 
     public void validate(UserRequestDTO userRequest) {
-        emailValidator.validate(userRequest.getEmail());
-        passwordValidator.validate(userRequest.getPassword());
-        emailDuplicationValidator.validate(userRequest.getEmail());
+        plan.validate(userRequest);
+    }
+
+    public List<ValidationError> check(UserRequestDTO userRequest) {
+        return plan.check(userRequest);
     }
-}
 
+    private static String phoneError(UserRequestDTO request) {
+        for (PhoneDTO phone : request.getPhones()) {
+            if (phone == null || isBlank(phone.getNumber())) {
+                return "El número de teléfono es requerido";
+            }
+            if (isBlank(phone.getCitycode())) {
+                return "El código de ciudad es requerido";
+            }
+            if (isBlank(phone.getCountrycode())) {
+                return "El código de país es requerido";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
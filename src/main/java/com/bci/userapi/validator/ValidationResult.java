@@ -0,0 +1,28 @@
+package com.bci.userapi.validator;
+
+public final class ValidationResult {
+
+    private static final ValidationResult VALID = new ValidationResult(null);
+
+    private final String message;
+
+    private ValidationResult(String message) {
+        this.message = message;
+    }
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public static ValidationResult invalid(String message) {
+        return new ValidationResult(message);
+    }
+
+    public boolean isValid() {
+        return message == null;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bci.userapi.validator.pattern;
+
+import java.util.Arrays;
+
+final class CharClass {
+
+    static final CharClass DIGIT = builder().addRange('0', '9').build(false);
+    static final CharClass WORD = builder().addRange('a', 'z').addRange('A', 'Z').add('_').addRange('0', '9').build(false);
+    static final CharClass SPACE = builder().add(' ').add('\t').add('\n').add(0x0B).add('\f').add('\r').build(false);
+    static final CharClass ANY_BUT_LINE_TERMINATOR =
+            builder().add('\n').add('\r').add(0x85).add(0x2028).add(0x2029).build(true);
+
+    private final long low;
+    private final long high;
+    private final int[] ranges;
+    private final boolean negated;
+
+    private CharClass(long low, long high, int[] ranges, boolean negated) {
+        this.low = low;
+        this.high = high;
+        this.ranges = ranges;
+        this.negated = negated;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static CharClass literal(int codePoint) {
+        return builder().add(codePoint).build(false);
+    }
+
+    CharClass negate() {
+        return new CharClass(low, high, ranges, !negated);
+    }
+
+    boolean matches(int codePoint) {
+        boolean member;
+        if (codePoint < 64) {
+            member = (low & (1L << codePoint)) != 0;
+        } else if (codePoint < 128) {
+            member = (high & (1L << (codePoint - 64))) != 0;
+        } else {
+            member = false;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (codePoint >= ranges[i] && codePoint <= ranges[i + 1]) {
+                    member = true;
+                    break;
+                }
+            }
+        }
+        return member != negated;
+    }
+
+    static final class Builder {
+
+        private long low;
+        private long high;
+        private int[] ranges = new int[0];
+
+        Builder add(int codePoint) {
+            return addRange(codePoint, codePoint);
+        }
+
+        Builder addRange(int from, int to) {
+            for (int c = from; c <= to && c < 128; c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+            if (to >= 128) {
+                ranges = Arrays.copyOf(ranges, ranges.length + 2);
+                ranges[ranges.length - 2] = Math.max(from, 128);
+                ranges[ranges.length - 1] = to;
+            }
+            return this;
+        }
+
+        Builder addAll(CharClass other) {
+            low |= other.low;
+            high |= other.high;
+            for (int i = 0; i < other.ranges.length; i += 2) {
+                addRange(other.ranges[i], other.ranges[i + 1]);
+            }
+            return this;
+        }
+
+        CharClass build(boolean negated) {
+            return new CharClass(low, high, ranges, negated);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.bci.userapi.validator.pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Supported subset: literals, escaped symbols, \t \n \r \f, \d \w \s (and negations), '.', classes [...] / [^...]
+// with ranges, quantifiers ? * + {n} {n,} {n,m} (greedy or lazy) and ^ / $ at the ends. Anything else uses Pattern.
+public final class PatternCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatternCompiler.class);
+
+    static final int MAX_ELEMENTS = 63;
+    private static final int UNBOUNDED = -1;
+
+    private final String regex;
+    private final int[] codePoints;
+    private final List<CharClass> classes = new ArrayList<>();
+    private long repeating;
+    private long skippable;
+    private int position;
+
+    private PatternCompiler(String regex) {
+        this.regex = regex;
+        this.codePoints = regex.codePoints().toArray();
+    }
+
+    public static StringMatcher compile(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        try {
+            return new PatternCompiler(regex).scanningMatcher();
+        } catch (UnsupportedOperationException ex) {
+            logger.info("La expresión '{}' usa java.util.regex: {}", regex, ex.getMessage());
+            return new RegexMatcher(pattern);
+        }
+    }
+
+    private ScanningMatcher scanningMatcher() {
+        int end = codePoints.length;
+        if (end > 0 && codePoints[0] == '^') {
+            position = 1;
+        }
+        if (end > position && codePoints[end - 1] == '$' && !escaped(end - 1)) {
+            end--;
+        }
+
+        while (position < end) {
+            CharClass element = element(end);
+            quantified(element, end);
+        }
+        return new ScanningMatcher(regex, classes.toArray(new CharClass[0]), repeating, skippable);
+    }
+
+    private CharClass element(int end) {
+        int c = codePoints[position];
+        switch (c) {
+            case '[':
+                return characterClass(end);
+            case '.':
+                position++;
+                return CharClass.ANY_BUT_LINE_TERMINATOR;
+            case '\\':
+                CharClass predefined = predefined(end);
+                if (predefined != null) {
+                    return predefined;
+                }
+                return CharClass.literal(escape(end));
+            case '(': case ')': case '|': case '{': case '}': case '*': case '+': case '?': case ']': case '^': case '$':
+                throw unsupported("'" + (char) c + "' en la posición " + position);
+            default:
+                position++;
+                return CharClass.literal(c);
+        }
+    }
+
+    private void quantified(CharClass element, int end) {
+        int min = 1;
+        int max = 1;
+        int start = position;
+        if (position < end) {
+            switch (codePoints[position]) {
+                case '?':
+                    min = 0;
+                    position++;
+                    break;
+                case '*':
+                    min = 0;
+                    max = UNBOUNDED;
+                    position++;
+                    break;
+                case '+':
+                    max = UNBOUNDED;
+                    position++;
+                    break;
+                case '{':
+                    position++;
+                    min = number(end);
+                    max = min;
+                    if (position < end && codePoints[position] == ',') {
+                        position++;
+                        max = position < end && codePoints[position] == '}' ? UNBOUNDED : number(end);
+                    }
+                    if (position >= end || codePoints[position] != '}') {
+                        throw unsupported("repetición mal formada");
+                    }
+                    position++;
+                    break;
+                default:
+                    break;
+            }
+            if (position > start && position < end) {
+                if (codePoints[position] == '+') {
+                    throw unsupported("cuantificador posesivo");
+                }
+                if (codePoints[position] == '?') {
+                    position++;
+                }
+            }
+        }
+
+        int optional = max == UNBOUNDED ? 1 : max - min;
+        if (classes.size() + min + optional > MAX_ELEMENTS) {
+            throw unsupported("más de " + MAX_ELEMENTS + " elementos");
+        }
+        for (int i = 0; i < min; i++) {
+            classes.add(element);
+        }
+        for (int i = 0; i < optional; i++) {
+            long bit = 1L << classes.size();
+            skippable |= bit;
+            if (max == UNBOUNDED) {
+                repeating |= bit;
+            }
+            classes.add(element);
+        }
+    }
+
+    private CharClass characterClass(int end) {
+        position++;
+        boolean negated = false;
+        if (position < end && codePoints[position] == '^') {
+            negated = true;
+            position++;
+        }
+        int first = position;
+        CharClass.Builder builder = CharClass.builder();
+        while (true) {
+            if (position >= end) {
+                throw unsupported("clase sin cerrar");
+            }
+            int c = codePoints[position];
+            if (c == ']') {
+                if (position == first) {
+                    throw unsupported("clase vacía");
+                }
+                position++;
+                return builder.build(negated);
+            }
+            if (c == '[' || (c == '&' && position + 1 < end && codePoints[position + 1] == '&')) {
+                throw unsupported("clases anidadas o intersecciones");
+            }
+            if (c == '\\') {
+                CharClass predefined = predefined(end);
+                if (predefined != null) {
+                    if (predefined == CharClass.DIGIT || predefined == CharClass.WORD || predefined == CharClass.SPACE) {
+                        builder.addAll(predefined);
+                        continue;
+                    }
+                    throw unsupported("clase predefinida negada dentro de []");
+                }
+            }
+            boolean dash = c == '-';
+            if (dash && position != first && !(position + 1 < end && codePoints[position + 1] == ']')) {
+                throw unsupported("'-' ambiguo dentro de []");
+            }
+            int from = classMember(end);
+            if (dash || position + 1 >= end || codePoints[position] != '-' || codePoints[position + 1] == ']') {
+                builder.add(from);
+                continue;
+            }
+            position++;
+            if (codePoints[position] == '-' || codePoints[position] == '[') {
+                throw unsupported("rango mal formado");
+            }
+            int to = classMember(end);
+            if (to < from) {
+                throw unsupported("rango invertido");
+            }
+            builder.addRange(from, to);
+        }
+    }
+
+    private int classMember(int end) {
+        if (codePoints[position] == '\\') {
+            return escape(end);
+        }
+        return codePoints[position++];
+    }
+
+    private CharClass predefined(int end) {
+        if (position + 1 >= end) {
+            throw unsupported("escape incompleto");
+        }
+        CharClass predefined;
+        switch (codePoints[position + 1]) {
+            case 'd': predefined = CharClass.DIGIT; break;
+            case 'D': predefined = CharClass.DIGIT.negate(); break;
+            case 'w': predefined = CharClass.WORD; break;
+            case 'W': predefined = CharClass.WORD.negate(); break;
+            case 's': predefined = CharClass.SPACE; break;
+            case 'S': predefined = CharClass.SPACE.negate(); break;
+            default: return null;
+        }
+        position += 2;
+        return predefined;
+    }
+
+    private int escape(int end) {
+        if (position + 1 >= end) {
+            throw unsupported("escape incompleto");
+        }
+        int c = codePoints[position + 1];
+        int literal;
+        switch (c) {
+            case 't': literal = '\t'; break;
+            case 'n': literal = '\n'; break;
+            case 'r': literal = '\r'; break;
+            case 'f': literal = '\f'; break;
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw unsupported("escape \\" + new String(Character.toChars(c)));
+                }
+                literal = c;
+        }
+        position += 2;
+        return literal;
+    }
+
+    private int number(int end) {
+        int start = position;
+        int value = 0;
+        while (position < end && codePoints[position] >= '0' && codePoints[position] <= '9') {
+            value = value * 10 + (codePoints[position] - '0');
+            if (value > MAX_ELEMENTS) {
+                throw unsupported("más de " + MAX_ELEMENTS + " elementos");
+            }
+            position++;
+        }
+        if (position == start) {
+            throw unsupported("repetición mal formada");
+        }
+        return value;
+    }
+
+    private boolean escaped(int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && codePoints[i] == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static UnsupportedOperationException unsupported(String reason) {
+        return new UnsupportedOperationException(reason);
+    }
+}
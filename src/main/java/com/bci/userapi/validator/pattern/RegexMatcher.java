@@ -0,0 +1,22 @@
+package com.bci.userapi.validator.pattern;
+
+import java.util.regex.Pattern;
+
+final class RegexMatcher implements StringMatcher {
+
+    private final Pattern pattern;
+
+    RegexMatcher(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        return pattern.matcher(input).matches();
+    }
+
+    @Override
+    public String toString() {
+        return "regex:" + pattern.pattern();
+    }
+}
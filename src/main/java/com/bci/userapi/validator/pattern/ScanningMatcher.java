@@ -0,0 +1,54 @@
+package com.bci.userapi.validator.pattern;
+
+final class ScanningMatcher implements StringMatcher {
+
+    private final String source;
+    private final CharClass[] classes;
+    private final long repeating;
+    private final long[] closures;
+    private final long accept;
+
+    // Positions 0..n of a linear NFA kept as a bitset: bit p means the first p elements have been matched
+    ScanningMatcher(String source, CharClass[] classes, long repeating, long skippable) {
+        int n = classes.length;
+        this.source = source;
+        this.classes = classes;
+        this.repeating = repeating;
+        this.accept = 1L << n;
+        this.closures = new long[n + 1];
+        closures[n] = accept;
+        for (int p = n - 1; p >= 0; p--) {
+            closures[p] = (1L << p) | ((skippable & (1L << p)) != 0 ? closures[p + 1] : 0);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        long states = closures[0];
+        int length = input.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(input, i);
+            i += Character.charCount(codePoint);
+
+            long next = 0;
+            long pending = states & ~accept;
+            while (pending != 0) {
+                int p = Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                if (classes[p].matches(codePoint)) {
+                    next |= closures[(repeating & (1L << p)) != 0 ? p : p + 1];
+                }
+            }
+            if (next == 0) {
+                return false;
+            }
+            states = next;
+        }
+        return (states & accept) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "scanning:" + source;
+    }
+}
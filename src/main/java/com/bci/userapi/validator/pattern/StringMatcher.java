@@ -0,0 +1,5 @@
+package com.bci.userapi.validator.pattern;
+
+public interface StringMatcher {
+    boolean matches(CharSequence input);
+}
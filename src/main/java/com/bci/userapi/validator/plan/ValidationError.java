@@ -0,0 +1,16 @@
+package com.bci.userapi.validator.plan;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ValidationError {
+
+    private final String field;
+    private final String message;
+}
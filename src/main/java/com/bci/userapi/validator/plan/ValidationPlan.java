@@ -0,0 +1,158 @@
+package com.bci.userapi.validator.plan;
+
+import com.bci.userapi.exception.RequestValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class ValidationPlan<T> {
+
+    private final List<Check<T>> checks;
+    private final List<Step<T>> steps;
+
+    private ValidationPlan(List<Check<T>> checks, List<Step<T>> steps) {
+        this.checks = checks;
+        this.steps = steps;
+    }
+
+    public static <T> Builder<T> builder(String name, MeterRegistry meterRegistry) {
+        return new Builder<>(name, meterRegistry);
+    }
+
+    public List<ValidationError> check(T target) {
+        List<ValidationError> errors = null;
+        for (Check<T> check : checks) {
+            if (errors != null && hasError(errors, check.field)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            String message = check.rule.apply(target);
+            check.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (message != null) {
+                check.failures.increment();
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(new ValidationError(check.field, message));
+            }
+        }
+        return errors == null ? Collections.emptyList() : errors;
+    }
+
+    public void validate(T target) {
+        List<ValidationError> errors = check(target);
+        if (!errors.isEmpty()) {
+            throw new RequestValidationException(errors);
+        }
+        for (Step<T> step : steps) {
+            long start = System.nanoTime();
+            try {
+                step.action.accept(target);
+            } catch (RuntimeException ex) {
+                step.failures.increment();
+                throw ex;
+            } finally {
+                step.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static boolean hasError(List<ValidationError> errors, String field) {
+        for (ValidationError error : errors) {
+            if (error.getField().equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Builder<T> {
+
+        private final String name;
+        private final MeterRegistry meterRegistry;
+        private final List<Check<T>> checks = new ArrayList<>();
+        private final List<Step<T>> steps = new ArrayList<>();
+
+        private Builder(String name, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.meterRegistry = meterRegistry;
+        }
+
+        public Builder<T> require(String field, Function<T, String> value, String message) {
+            return check(field, "required", target -> {
+                String text = value.apply(target);
+                return text != null && !text.trim().isEmpty();
+            }, message);
+        }
+
+        public Builder<T> check(String field, String rule, Predicate<T> valid, String message) {
+            return check(field, rule, target -> valid.test(target) ? null : message);
+        }
+
+        // The rule returns the error message, or null when the value is valid
+        public Builder<T> check(String field, String rule, Function<T, String> check) {
+            String id = field + "." + rule;
+            checks.add(new Check<>(field, check, timer(id), failures(id)));
+            return this;
+        }
+
+        public Builder<T> then(String rule, Consumer<T> action) {
+            steps.add(new Step<>(action, timer(rule), failures(rule)));
+            return this;
+        }
+
+        public ValidationPlan<T> build() {
+            return new ValidationPlan<>(new ArrayList<>(checks), new ArrayList<>(steps));
+        }
+
+        private Timer timer(String rule) {
+            return Timer.builder("validation.rule.duration")
+                    .tag("plan", name)
+                    .tag("rule", rule)
+                    .register(meterRegistry);
+        }
+
+        private Counter failures(String rule) {
+            return Counter.builder("validation.rule.failures")
+                    .tag("plan", name)
+                    .tag("rule", rule)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Check<T> {
+
+        private final String field;
+        private final Function<T, String> rule;
+        private final Timer timer;
+        private final Counter failures;
+
+        private Check(String field, Function<T, String> rule, Timer timer, Counter failures) {
+            this.field = field;
+            this.rule = rule;
+            this.timer = timer;
+            this.failures = failures;
+        }
+    }
+
+    private static final class Step<T> {
+
+        private final Consumer<T> action;
+        private final Timer timer;
+        private final Counter failures;
+
+        private Step(Consumer<T> action, Timer timer, Counter failures) {
+            this.action = action;
+            this.timer = timer;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bci.userapi.version;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+public final class ResourceVersion {
+
+    private static final long UNKNOWN_LAST_MODIFIED = -1;
+
+    private final String etag;
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion of(LocalDateTime modified) {
+        return new ResourceVersion("\"" + epochMicros(modified) + "\"",
+                modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public static ResourceVersion ofContent(String content) {
+        return new ResourceVersion("\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"",
+                UNKNOWN_LAST_MODIFIED);
+    }
+
+    static long epochMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), timestamp);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
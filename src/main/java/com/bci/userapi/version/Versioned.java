@@ -0,0 +1,25 @@
+package com.bci.userapi.version;
+
+public final class Versioned<T> {
+
+    private final T body;
+    private final ResourceVersion version;
+
+    public Versioned(T body, ResourceVersion version) {
+        this.body = body;
+        this.version = version;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public ResourceVersion getVersion() {
+        return version;
+    }
+
+    // False when the caller already holds this version and the body was not built
+    public boolean isModified() {
+        return body != null;
+    }
+}
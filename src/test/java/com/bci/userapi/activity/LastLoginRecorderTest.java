@@ -0,0 +1,193 @@
+package com.bci.userapi.activity;
+
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.PhoneDTO;
+import com.bci.userapi.dto.UserResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.dto.UserUpdateRequestDTO;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.service.IUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LastLoginRecorderTest {
+
+    private static final LocalDateTime SEEN_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private JdbcTemplate jdbcTemplate;
+    private MeterRegistry meterRegistry;
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new LastLoginRecorder(jdbcTemplate, meterRegistry, 2, 100);
+    }
+
+    @Test
+    void testRecord_CoalescesRepeatedHits() {
+        recorder.record("juan@rodriguez.cl", SEEN_AT);
+        recorder.record("juan@rodriguez.cl", SEEN_AT.plusSeconds(5));
+        recorder.record("juan@rodriguez.cl", SEEN_AT.plusSeconds(1));
+
+        assertEquals(1, recorder.pendingCount());
+        assertEquals(1.0, meterRegistry.get("last.login.pending").gauge().value());
+
+        Collection<Map.Entry<String, LocalDateTime>> batch = flushAndCapture();
+        assertEquals(1, batch.size());
+        assertEquals(SEEN_AT.plusSeconds(5), batch.iterator().next().getValue());
+    }
+
+    @Test
+    void testRecord_BoundedPendingEntries() {
+        assertTrue(recorder.record("a@bci.cl", SEEN_AT));
+        assertTrue(recorder.record("b@bci.cl", SEEN_AT));
+        assertFalse(recorder.record("c@bci.cl", SEEN_AT));
+        assertTrue(recorder.record("a@bci.cl", SEEN_AT.plusSeconds(1)));
+
+        assertEquals(2, recorder.pendingCount());
+        assertEquals(1.0, meterRegistry.get("last.login.dropped").counter().count());
+    }
+
+    @Test
+    void testFlush_SingleBatchedUpdate() {
+        recorder.record("a@bci.cl", SEEN_AT);
+        recorder.record("b@bci.cl", SEEN_AT);
+
+        Collection<Map.Entry<String, LocalDateTime>> batch = flushAndCapture();
+
+        assertEquals(2, batch.size());
+        assertEquals(0, recorder.pendingCount());
+        assertEquals(2.0, meterRegistry.get("last.login.flushed").counter().count());
+        assertEquals(1, meterRegistry.get("last.login.flush").timer().count());
+    }
+
+    @Test
+    void testFlush_NothingPending() {
+        assertEquals(0, recorder.flush());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_FailureKeepsEntries() {
+        recorder.record("a@bci.cl", SEEN_AT);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Database error"));
+
+        assertEquals(0, recorder.flush());
+
+        assertEquals(1, recorder.pendingCount());
+    }
+
+    @Test
+    void testConstructor_InvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LastLoginRecorder(jdbcTemplate, meterRegistry, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new LastLoginRecorder(jdbcTemplate, meterRegistry, 10, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Map.Entry<String, LocalDateTime>> flushAndCapture() {
+        ArgumentCaptor<Collection<Map.Entry<String, LocalDateTime>>> captor = ArgumentCaptor.forClass(Collection.class);
+        recorder.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture(), eq(100),
+                any(ParameterizedPreparedStatementSetter.class));
+        return captor.getValue();
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"spring.jpa.show-sql=false", "last-login.flush-interval=3600000"})
+    class Persistence {
+
+        @Autowired
+        private LastLoginRecorder lastLoginRecorder;
+
+        @Autowired
+        private IUserService userService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbc;
+
+        private UUID userId;
+
+        @BeforeEach
+        void setUp() {
+            userId = userService.createUser(new UserRequestDTO("Juan Rodriguez", "login@rodriguez.cl", "hunter22",
+                    Collections.singletonList(new PhoneDTO("1234567", "1", "57")))).getId();
+        }
+
+        @AfterEach
+        void tearDown() {
+            userRepository.deleteAll();
+        }
+
+        @Test
+        void testFlush_WritesLatestTimestampAndSurvivesEntityUpdates() {
+            LocalDateTime seenAt = LocalDateTime.now().plusMinutes(5).withNano(0);
+            lastLoginRecorder.record("login@rodriguez.cl", seenAt.minusMinutes(1));
+            lastLoginRecorder.record("login@rodriguez.cl", seenAt);
+            lastLoginRecorder.record("nadie@rodriguez.cl", seenAt);
+
+            assertEquals(2, lastLoginRecorder.flush());
+            assertEquals(Timestamp.valueOf(seenAt), lastLogin());
+
+            userService.updateUser(userId, new UserUpdateRequestDTO("Juan Actualizado", "login@rodriguez.cl",
+                    Collections.singletonList(new PhoneDTO("1234567", "1", "57"))));
+            assertEquals(Timestamp.valueOf(seenAt), lastLogin());
+        }
+
+        @Test
+        void testLogin_RecordsAccess() {
+            Timestamp before = lastLogin();
+
+            UserResponseDTO response = userService.login(new LoginRequestDTO("login@rodriguez.cl", "hunter22"));
+
+            assertEquals(userId, response.getId());
+            assertEquals(1, lastLoginRecorder.pendingCount());
+            assertEquals(1, lastLoginRecorder.flush());
+            assertTrue(lastLogin().after(before));
+            assertEquals(response.getToken(), jdbc.queryForObject(
+                    "SELECT token FROM users WHERE id = ?", String.class, userId.toString()));
+        }
+
+        @Test
+        void testFlush_DoesNotMoveBackwards() {
+            Timestamp before = lastLogin();
+            lastLoginRecorder.record("login@rodriguez.cl", before.toLocalDateTime().minusDays(1));
+
+            lastLoginRecorder.flush();
+
+            assertEquals(before, lastLogin());
+        }
+
+        private Timestamp lastLogin() {
+            return jdbc.queryForObject("SELECT last_login FROM users WHERE id = ?", Timestamp.class, userId.toString());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.validator.BreachedPasswordValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class BreachedPasswordBenchmark {
+
+    private static final int ENTRIES = 10_000_000;
+    private static final String[] BREACHED = {"password123", "hunter22", "qwerty12345", "iloveyou2024"};
+    private static final String[] SAFE = {"ClaveSegura2024", "x7Vq9LmP2rTa", "NuncaFiltrada99", "bci4everZzQ"};
+    private static final int WARMUP = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 3000;
+        Path file = Files.createTempFile("breached", ".bin");
+        try {
+            writeFile(file);
+            BreachedPasswordValidator validator =
+                    new BreachedPasswordValidator(file.toString(), 20, new SimpleMeterRegistry());
+            System.gc();
+            long heapBytes = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            System.out.printf("archivo: %d hashes, %d MB, heap usado %d MB%n",
+                    validator.size(), Files.size(file) >> 20, heapBytes >> 20);
+
+            System.out.printf("%-22s %14s %12s %12s%n", "consulta", "ops/s", "us/op", "bytes/op");
+            run("filtrada", millis, validator, BREACHED);
+            run("no filtrada", millis, validator, SAFE);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Random SHA-1 sized records: a sorted 8-byte prefix plus random filler, with the known passwords mixed in
+    private static void writeFile(Path file) throws Exception {
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        Map<Long, byte[]> known = new HashMap<>();
+        Random random = new Random(2024);
+        long[] prefixes = new long[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            prefixes[i] = random.nextLong();
+        }
+        for (int i = 0; i < BREACHED.length; i++) {
+            byte[] hash = sha1.digest(BREACHED[i].getBytes(StandardCharsets.UTF_8));
+            long prefix = 0;
+            for (int b = 0; b < 8; b++) {
+                prefix = (prefix << 8) | (hash[b] & 0xFF);
+            }
+            prefixes[i] = prefix;
+            known.put(prefix, hash);
+        }
+        for (int i = 0; i < ENTRIES; i++) {
+            prefixes[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(prefixes);
+
+        byte[] record = new byte[20];
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (long sorted : prefixes) {
+                long prefix = sorted ^ Long.MIN_VALUE;
+                byte[] hash = known.get(prefix);
+                if (hash == null) {
+                    for (int b = 0; b < 8; b++) {
+                        record[b] = (byte) (prefix >>> (56 - 8 * b));
+                    }
+                    for (int b = 8; b < 20; b++) {
+                        record[b] = (byte) random.nextInt();
+                    }
+                    hash = record;
+                }
+                out.write(hash);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo escribir el archivo de prueba", ex);
+        }
+    }
+
+    private static void run(String name, long millis, BreachedPasswordValidator validator, String[] passwords) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += validator.check(passwords[i % passwords.length]).isValid() ? 1 : 0;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            for (String password : passwords) {
+                sink += validator.check(password).isValid() ? 1 : 0;
+            }
+            operations += passwords.length;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%-22s %14.0f %12.2f %12.1f%n", name, operations / seconds,
+                seconds * 1_000_000 / operations, (double) allocated / operations);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
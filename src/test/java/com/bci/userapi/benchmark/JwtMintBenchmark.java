@@ -0,0 +1,69 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.security.JwtMinter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+public class JwtMintBenchmark {
+
+    private static final long EXPIRATION = 86_400_000L;
+    private static final int WARMUP = 50_000;
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 5000;
+        SecretKey key = Keys.hmacShaKeyFor(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity"
+                        .getBytes(StandardCharsets.UTF_8));
+        JwtMinter minter = new JwtMinter(key);
+
+        System.out.printf("%-10s %14s %14s%n", "metodo", "tokens/s", "bytes/token");
+        run("jjwt", millis, i -> {
+            Date now = new Date();
+            return Jwts.builder()
+                    .setSubject("usuario" + (i & 1023) + "@bci.cl")
+                    .setId(UUID.randomUUID().toString())
+                    .setIssuedAt(now)
+                    .setExpiration(new Date(now.getTime() + EXPIRATION))
+                    .signWith(key, SignatureAlgorithm.HS512)
+                    .compact();
+        });
+        run("minter", millis, i -> {
+            long now = System.currentTimeMillis();
+            return minter.mint("usuario" + (i & 1023) + "@bci.cl", UUID.randomUUID().toString(), now / 1000, (now + EXPIRATION) / 1000);
+        });
+    }
+
+    private static void run(String name, long millis, LongFunction<String> mint) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += mint.apply(i).length();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            sink += mint.apply(operations).length();
+            operations++;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%-10s %14.0f %14d%n", name, operations / seconds, allocated / operations);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
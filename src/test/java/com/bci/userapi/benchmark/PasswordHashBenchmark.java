@@ -0,0 +1,66 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.security.PasswordAlgorithm;
+import com.bci.userapi.security.PasswordEncoderFactory;
+import com.bci.userapi.security.PasswordEncodingProperties;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.Consumer;
+
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "hunter22";
+    private static final int WARMUP = 3;
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 3000;
+
+        System.out.printf("%-8s %-24s %12s %12s %12s%n", "algoritmo", "parametros", "hash/s", "verify/s", "ms/verify");
+        for (int strength : new int[]{8, 10, 12}) {
+            run(PasswordAlgorithm.BCRYPT, "strength=" + strength, millis, p -> p.getBcrypt().setStrength(strength));
+        }
+        for (int iterations : new int[]{100000, 310000, 600000}) {
+            run(PasswordAlgorithm.PBKDF2, "iterations=" + iterations, millis,
+                    p -> p.getPbkdf2().setIterations(iterations));
+        }
+        for (int cpuCost : new int[]{16384, 32768, 65536}) {
+            run(PasswordAlgorithm.SCRYPT, "N=" + cpuCost, millis, p -> p.getScrypt().setCpuCost(cpuCost));
+        }
+        for (int memory : new int[]{16384, 65536}) {
+            for (int iterations : new int[]{2, 3}) {
+                run(PasswordAlgorithm.ARGON2, "m=" + memory + "KiB,t=" + iterations, millis, p -> {
+                    p.getArgon2().setMemory(memory);
+                    p.getArgon2().setIterations(iterations);
+                });
+            }
+        }
+    }
+
+    private static void run(PasswordAlgorithm algorithm, String parameters, long millis,
+                            Consumer<PasswordEncodingProperties> customizer) {
+        PasswordEncodingProperties properties = new PasswordEncodingProperties();
+        customizer.accept(properties);
+        PasswordEncoder encoder = PasswordEncoderFactory.encoder(algorithm, properties);
+        String hash = encoder.encode(PASSWORD);
+        for (int i = 0; i < WARMUP; i++) {
+            encoder.encode(PASSWORD);
+            encoder.matches(PASSWORD, hash);
+        }
+
+        double hashes = throughput(millis, () -> encoder.encode(PASSWORD));
+        double verifies = throughput(millis, () -> encoder.matches(PASSWORD, hash));
+        System.out.printf("%-8s %-24s %12.1f %12.1f %12.2f%n", algorithm.getId(), parameters,
+                hashes, verifies, 1000.0 / verifies);
+    }
+
+    private static double throughput(long millis, Runnable operation) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        int operations = 0;
+        while (System.nanoTime() < deadline) {
+            operation.run();
+            operations++;
+        }
+        return operations / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.entity.id.TimeOrderedUUIDStrategy;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public class UUIDInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directory = Files.createTempDirectory("uuid-benchmark");
+
+        System.out.printf("%-12s %-8s %12s %14s%n", "generador", "columna", "filas/s", "archivo (MB)");
+        run(directory, "v4-random", false, rows, UUID::randomUUID);
+        run(directory, "v7-ordered", false, rows, TimeOrderedUUIDStrategy::generate);
+        run(directory, "v4-random", true, rows, UUID::randomUUID);
+        run(directory, "v7-ordered", true, rows, TimeOrderedUUIDStrategy::generate);
+    }
+
+    private static void run(Path directory, String generator, boolean binary, int rows,
+                            Supplier<UUID> ids) throws Exception {
+        String name = generator + (binary ? "-binary" : "-char");
+        String url = "jdbc:h2:" + directory.resolve(name).toAbsolutePath();
+        String idType = binary ? "BINARY(16)" : "VARCHAR(36)";
+
+        long elapsed;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE users (id " + idType + " PRIMARY KEY, "
+                        + "created TIMESTAMP NOT NULL, email VARCHAR(255) NOT NULL)");
+                statement.execute("CREATE INDEX idx_users_created_id ON users(created, id)");
+            }
+            connection.setAutoCommit(false);
+
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, created, email) VALUES (?, CURRENT_TIMESTAMP, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    UUID id = ids.get();
+                    if (binary) {
+                        insert.setBytes(1, toBytes(id));
+                    } else {
+                        insert.setString(1, id.toString());
+                    }
+                    insert.setString(2, "usuario" + i + "@bci.cl");
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            elapsed = System.nanoTime() - start;
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN COMPACT");
+            }
+        }
+
+        File file = directory.resolve(name + ".mv.db").toFile();
+        System.out.printf("%-12s %-8s %12.0f %14.1f%n", generator, binary ? "binary" : "char",
+                rows / (elapsed / 1_000_000_000.0), file.length() / (1024.0 * 1024.0));
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
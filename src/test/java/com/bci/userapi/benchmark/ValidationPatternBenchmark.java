@@ -0,0 +1,64 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.validator.pattern.PatternCompiler;
+import com.bci.userapi.validator.pattern.StringMatcher;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public class ValidationPatternBenchmark {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.cl$";
+    private static final String PASSWORD_REGEX = "^[a-zA-Z0-9]{8,}$";
+    private static final String[] EMAILS = {
+            "juan@rodriguez.cl", "maria.perez+bci@correo.empresa.cl", "invalido@dominio.com", "sin-arroba.cl",
+            "a@b.cl", "usuario_123@sub.dominio.cl"
+    };
+    private static final String[] PASSWORDS = {
+            "hunter22", "corta", "ClaveSegura2024", "con espacio 123", "abcdefghijklmnopqrstuvwxyz0123456789"
+    };
+    private static final int WARMUP = 200_000;
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 3000;
+        Pattern emailPattern = Pattern.compile(EMAIL_REGEX);
+        Pattern passwordPattern = Pattern.compile(PASSWORD_REGEX);
+        StringMatcher emailMatcher = PatternCompiler.compile(EMAIL_REGEX);
+        StringMatcher passwordMatcher = PatternCompiler.compile(PASSWORD_REGEX);
+
+        System.out.printf("%-18s %14s %12s%n", "validacion", "ops/s", "bytes/op");
+        run("email regex", millis, EMAILS, email -> emailPattern.matcher(email).matches());
+        run("email compilado", millis, EMAILS, emailMatcher::matches);
+        run("password regex", millis, PASSWORDS, password -> passwordPattern.matcher(password).matches());
+        run("password compilado", millis, PASSWORDS, passwordMatcher::matches);
+    }
+
+    private static void run(String name, long millis, String[] inputs, Predicate<String> matcher) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += matcher.test(inputs[i % inputs.length]) ? 1 : 0;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            for (String input : inputs) {
+                sink += matcher.test(input) ? 1 : 0;
+            }
+            operations += inputs.length;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%-18s %14.0f %12.1f%n", name, operations / seconds, (double) allocated / operations);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
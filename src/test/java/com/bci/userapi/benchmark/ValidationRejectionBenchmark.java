@@ -0,0 +1,74 @@
+package com.bci.userapi.benchmark;
+
+import com.bci.userapi.exception.InvalidEmailFormatException;
+import com.bci.userapi.validator.EmailValidator;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+public class ValidationRejectionBenchmark {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.cl$";
+    private static final String VALID = "juan@rodriguez.cl";
+    private static final String INVALID = "juan@rodriguez.com";
+    // Roughly the depth at which a controller call runs inside the servlet container and Spring MVC
+    private static final int REQUEST_STACK_DEPTH = 120;
+    private static final int WARMUP = 200_000;
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 3000;
+        EmailValidator validator = new EmailValidator(EMAIL_REGEX);
+
+        System.out.printf("%-28s %14s %12s%n", "camino", "ops/s", "bytes/op");
+        run("aceptar (check)", millis, email -> atDepth(REQUEST_STACK_DEPTH, () -> validator.check(email).isValid()), VALID);
+        run("rechazar (check)", millis, email -> atDepth(REQUEST_STACK_DEPTH, () -> validator.check(email).isValid()), INVALID);
+        run("rechazar (sin stack)", millis, email -> atDepth(REQUEST_STACK_DEPTH, () -> throwing(() -> validator.validate(email))), INVALID);
+        run("rechazar (con stack)", millis, email -> atDepth(REQUEST_STACK_DEPTH, () -> throwing(() -> {
+            if (!validator.check(email).isValid()) {
+                throw new IllegalStateException("El formato del correo no es válido");
+            }
+        })), INVALID);
+    }
+
+    private static boolean throwing(Runnable validation) {
+        try {
+            validation.run();
+            return true;
+        } catch (InvalidEmailFormatException | IllegalStateException ex) {
+            return false;
+        }
+    }
+
+    private static boolean atDepth(int depth, BooleanSupplier body) {
+        return depth == 0 ? body.getAsBoolean() : atDepth(depth - 1, body);
+    }
+
+    private static void run(String name, long millis, Predicate<String> path, String input) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += path.test(input) ? 1 : 0;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 100; i++) {
+                sink += path.test(input) ? 1 : 0;
+            }
+            operations += 100;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%-28s %14.0f %12.1f%n", name, operations / seconds, (double) allocated / operations);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bci.userapi.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("usuario" + i + "@bci.cl");
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("usuario" + i + "@bci.cl"));
+        }
+        assertEquals(10000, filter.insertions());
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateWithinBounds() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("usuario" + i + "@bci.cl");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("otro" + i + "@bci.cl")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives / 100000.0 < 0.02);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1000000, 0.01);
+
+        assertTrue(filter.bitSize() >= 9585059);
+        assertEquals(7, filter.hashFunctions());
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+    }
+
+    @Test
+    void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain("juan@rodriguez.cl"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.bci.userapi.bloom;
+
+import com.bci.userapi.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private EmailBloomFilter emailBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailBloomFilter = new EmailBloomFilter(userRepository, transactionManager, meterRegistry, 1000, 0.01);
+    }
+
+    @Test
+    void testMightContain_BeforeRebuildFallsBackToDatabase() {
+        assertFalse(emailBloomFilter.isReady());
+        assertTrue(emailBloomFilter.mightContain("juan@rodriguez.cl"));
+        assertEquals(1.0, emailBloomFilter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void testRebuild_LoadsEmailsFromRepository() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("juan@rodriguez.cl", "maria@garcia.cl"));
+
+        long entries = emailBloomFilter.rebuild();
+
+        assertEquals(2, entries);
+        assertTrue(emailBloomFilter.isReady());
+        assertTrue(emailBloomFilter.mightContain("juan@rodriguez.cl"));
+        assertFalse(emailBloomFilter.mightContain("pedro@soto.cl"));
+        assertTrue(emailBloomFilter.memoryBytes() > 0);
+        assertEquals(1.0, meterRegistry.get("email.filter.checks").tag("result", "absent").counter().count());
+        assertEquals(2.0, meterRegistry.get("email.filter.entries").gauge().value());
+    }
+
+    @Test
+    void testAdd_VisibleAfterRebuild() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        emailBloomFilter.rebuild();
+
+        emailBloomFilter.add("pedro@soto.cl");
+
+        assertTrue(emailBloomFilter.mightContain("pedro@soto.cl"));
+    }
+
+    @Test
+    void testMarkStale_ResetOnRebuild() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty(), Stream.empty());
+        emailBloomFilter.rebuild();
+
+        emailBloomFilter.markStale();
+        emailBloomFilter.markStale();
+        assertEquals(2, emailBloomFilter.staleEntries());
+
+        emailBloomFilter.rebuild();
+        assertEquals(0, emailBloomFilter.staleEntries());
+    }
+
+    @Test
+    void testRecordFalsePositive() {
+        emailBloomFilter.recordFalsePositive();
+
+        assertEquals(1.0, meterRegistry.get("email.filter.false.positives").counter().count());
+    }
+
+    @Test
+    void testEndpoint_StatsAndRebuild() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("juan@rodriguez.cl"));
+        EmailBloomFilterEndpoint endpoint = new EmailBloomFilterEndpoint(emailBloomFilter);
+
+        assertEquals(false, endpoint.stats().get("ready"));
+        assertEquals(1L, endpoint.rebuild().get("entries"));
+        assertEquals(true, endpoint.stats().get("ready"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.bci.userapi.breach;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreachedHashFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testContains_FindsEveryRecordAndRejectsOthers() throws IOException {
+        byte[][] hashes = randomSortedHashes(1000, 20);
+        BreachedHashFile file = BreachedHashFile.open(write(hashes, 20), 20);
+
+        assertEquals(1000, file.size());
+        for (byte[] hash : hashes) {
+            assertTrue(file.contains(hash));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            byte[] candidate = new byte[20];
+            random.nextBytes(candidate);
+            boolean expected = Arrays.stream(hashes).anyMatch(hash -> Arrays.equals(hash, candidate));
+            assertEquals(expected, file.contains(candidate));
+        }
+    }
+
+    @Test
+    void testContains_ComparesBytesAsUnsigned() throws IOException {
+        byte[][] hashes = {hash(0x01), hash(0x7F), hash(0x80), hash(0xFF)};
+        BreachedHashFile file = BreachedHashFile.open(write(hashes, 20), 20);
+
+        for (byte[] hash : hashes) {
+            assertTrue(file.contains(hash));
+        }
+        assertFalse(file.contains(hash(0x81)));
+    }
+
+    @Test
+    void testContains_TruncatedRecordsMatchPrefix() throws IOException {
+        byte[][] hashes = randomSortedHashes(200, 20);
+        BreachedHashFile file = BreachedHashFile.open(write(hashes, 8), 8);
+
+        byte[] samePrefix = hashes[42].clone();
+        samePrefix[19] ^= 0x01;
+        assertTrue(file.contains(samePrefix));
+        assertEquals(200, file.size());
+        assertEquals(8, file.getRecordBytes());
+    }
+
+    @Test
+    void testContains_SearchesAcrossSegments() throws IOException {
+        byte[][] hashes = randomSortedHashes(101, 20);
+        // 7 records per segment, so 15 segments with a partial last one
+        BreachedHashFile file = BreachedHashFile.open(write(hashes, 20), 20, 7 * 20 + 5);
+
+        for (byte[] hash : hashes) {
+            assertTrue(file.contains(hash));
+        }
+        byte[] absent = hashes[50].clone();
+        absent[19] ^= 0x01;
+        assertEquals(Arrays.stream(hashes).anyMatch(hash -> Arrays.equals(hash, absent)), file.contains(absent));
+    }
+
+    @Test
+    void testOpen_EmptyFileContainsNothing() throws IOException {
+        BreachedHashFile file = BreachedHashFile.open(write(new byte[0][], 20), 20);
+
+        assertEquals(0, file.size());
+        assertFalse(file.contains(new byte[20]));
+    }
+
+    @Test
+    void testOpen_RejectsPartialRecordsAndInvalidWidth() throws IOException {
+        Path path = tempDir.resolve("partial.bin");
+        Files.write(path, new byte[30]);
+
+        assertThrows(IllegalArgumentException.class, () -> BreachedHashFile.open(path, 20));
+        assertThrows(IllegalArgumentException.class, () -> BreachedHashFile.open(path, 0));
+        assertThrows(IllegalArgumentException.class, () -> BreachedHashFile.open(path, 21));
+    }
+
+    @Test
+    void testIsCurrent_DetectsReplacedFile() throws IOException {
+        Path path = write(randomSortedHashes(10, 20), 20);
+        BreachedHashFile file = BreachedHashFile.open(path, 20);
+
+        assertTrue(file.isCurrent(Files.readAttributes(path, BasicFileAttributes.class)));
+
+        Files.write(path, new byte[40]);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+        assertFalse(file.isCurrent(Files.readAttributes(path, BasicFileAttributes.class)));
+    }
+
+    private Path write(byte[][] hashes, int recordBytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(hashes.length * recordBytes);
+        for (byte[] hash : hashes) {
+            buffer.put(hash, 0, recordBytes);
+        }
+        Path path = Files.createTempFile(tempDir, "breached", ".bin");
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    private static byte[][] randomSortedHashes(int count, int length) {
+        Random random = new Random(count);
+        byte[][] hashes = new byte[count][length];
+        for (byte[] hash : hashes) {
+            random.nextBytes(hash);
+        }
+        Arrays.sort(hashes, BreachedHashFileTest::compareUnsigned);
+        return hashes;
+    }
+
+    private static int compareUnsigned(byte[] left, byte[] right) {
+        for (int i = 0; i < left.length; i++) {
+            int difference = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] hash(int first) {
+        byte[] hash = new byte[20];
+        hash[0] = (byte) first;
+        return hash;
+    }
+}
@@ -0,0 +1,143 @@
+package com.bci.userapi.config;
+
+import com.bci.userapi.datasource.ReplicaDataSource;
+import com.bci.userapi.datasource.ReplicaPool;
+import com.bci.userapi.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'database-schema.sql'",
+        "datasource.routing.replicas[0].username=sa",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaPool.getReplicas().get(0).getDataSource());
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaPool.getReplicas().forEach(r -> r.update(true, 0));
+        primary.update("DELETE FROM phones");
+        primary.update("DELETE FROM users");
+        replica.update("DELETE FROM phones");
+        replica.update("DELETE FROM users");
+    }
+
+    @Test
+    void testReadOnlyRequestsAreServedByReplica() throws Exception {
+        UUID id = insertUser(replica, "Solo Replica", "replica@bci.cl");
+
+        mockMvc.perform(get("/api/users/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Solo Replica"));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1));
+    }
+
+    @Test
+    void testWritesGoToPrimary() throws Exception {
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Juan Rodriguez\",\"email\":\"juan@rodriguez.cl\",\"password\":\"hunter22\","
+                        + "\"phones\":[{\"number\":\"1234567\",\"citycode\":\"1\",\"countrycode\":\"57\"}]}"))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    @Test
+    void testRepositoryReadsOutsideServiceTransactionUsePrimary() {
+        insertUser(primary, "Solo Primario", "primario@bci.cl");
+
+        assertTrue(userRepository.findByEmail("primario@bci.cl").isPresent());
+        assertEquals(1, userRepository.findAll().size());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void testLoginReadsAndWritesPrimary() throws Exception {
+        UUID id = insertUser(primary, "Solo Primario", "primario@bci.cl");
+        primary.update("UPDATE users SET password = ? WHERE email = ?",
+                "{bcrypt}" + new BCryptPasswordEncoder(4).encode("hunter22"), "primario@bci.cl");
+        insertUser(replica, "Replica Atrasada", "primario@bci.cl");
+
+        MvcResult result = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"primario@bci.cl\",\"password\":\"hunter22\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andReturn();
+
+        String token = JsonPath.read(result.getResponse().getContentAsString(), "$.token");
+        assertEquals(token, primary.queryForObject("SELECT token FROM users WHERE id = ?", String.class, id.toString()));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        UUID id = insertUser(primary, "Solo Primario", "primario@bci.cl");
+        ReplicaDataSource lagging = replicaPool.getReplicas().get(0);
+        lagging.update(false, 60);
+
+        mockMvc.perform(get("/api/users/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Solo Primario"));
+    }
+
+    private UUID insertUser(JdbcTemplate jdbcTemplate, String name, String email) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2024, 1, 15, 10, 30));
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, created, modified, last_login, token, is_active) "
+                + "VALUES (?, ?, ?, 'hash', ?, ?, ?, 'token', TRUE)", id.toString(), name, email, now, now, now);
+        jdbcTemplate.update("INSERT INTO phones (id, number, citycode, countrycode, user_id) VALUES (?, '1234567', '1', '57', ?)",
+                UUID.randomUUID().toString(), id.toString());
+        return id;
+    }
+}
@@ -0,0 +1,169 @@
+package com.bci.userapi.config;
+
+import com.bci.userapi.dto.ChangePasswordRequestDTO;
+import com.bci.userapi.dto.PhoneDTO;
+import com.bci.userapi.dto.UserDetailResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.dto.UserUpdateRequestDTO;
+import com.bci.userapi.entity.Phone;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.exception.UserNotFoundException;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.service.IUserService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondLevelCacheConfigTest {
+
+    @Test
+    void testRegionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration =
+                SecondLevelCacheConfig.regionConfiguration(500, Duration.ofMinutes(5));
+
+        assertEquals(500, configuration.getMaximumSize().getAsLong());
+        assertEquals(TimeUnit.MINUTES.toNanos(5), configuration.getExpireAfterWrite().getAsLong());
+        assertTrue(configuration.isStatisticsEnabled());
+    }
+
+    @Test
+    void testRegionConfiguration_InvalidValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SecondLevelCacheConfig.regionConfiguration(0, Duration.ofMinutes(5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> SecondLevelCacheConfig.regionConfiguration(500, Duration.ZERO));
+    }
+
+    @Nested
+    @SpringBootTest(properties = "spring.jpa.show-sql=false")
+    class Invalidation {
+
+        @Autowired
+        private IUserService userService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private Cache cache;
+        private UUID userId;
+
+        @BeforeEach
+        void setUp() {
+            cache = entityManagerFactory.getCache();
+            UserRequestDTO request = new UserRequestDTO("Juan Rodriguez", "cache@rodriguez.cl", "hunter22",
+                    Collections.singletonList(new PhoneDTO("1234567", "1", "57")));
+            userId = userService.createUser(request).getId();
+            cache.evictAll();
+        }
+
+        @AfterEach
+        void tearDown() {
+            userRepository.deleteAll();
+        }
+
+        @Test
+        void testGetUserById_PopulatesCache() {
+            userService.getUserById(userId, version -> false);
+
+            assertTrue(cache.contains(User.class, userId));
+            userService.getUserById(userId, version -> false);
+            assertTrue(meterRegistry.get("cache.gets")
+                    .tag("cache", SecondLevelCacheConfig.USER_REGION)
+                    .tag("result", "hit")
+                    .functionCounter().count() > 0);
+        }
+
+        @Test
+        void testUpdateUser_RefreshesCachedUserAndPhones() {
+            userService.getUserById(userId, version -> false);
+
+            userService.updateUser(userId, new UserUpdateRequestDTO("Juan Actualizado", "cache@rodriguez.cl",
+                    Arrays.asList(new PhoneDTO("7654321", "2", "56"), new PhoneDTO("1111111", "3", "56"))));
+
+            UserDetailResponseDTO result = userService.getUserById(userId, version -> false).getBody();
+            assertEquals("Juan Actualizado", result.getName());
+            assertEquals(2, result.getPhones().size());
+        }
+
+        @Test
+        void testChangePassword_RefreshesCachedUser() {
+            userService.getUserById(userId, version -> false);
+
+            userService.changePassword(userId, new ChangePasswordRequestDTO("nuevaClave99", "nuevaClave99"));
+
+            User user = userRepository.findById(userId).orElseThrow(IllegalStateException::new);
+            assertTrue(passwordEncoder.matches("nuevaClave99", user.getPassword()));
+        }
+
+        @Test
+        void testDeleteUser_EvictsCachedUser() {
+            userService.getUserById(userId, version -> false);
+
+            userService.deleteUser(userId);
+
+            assertFalse(cache.contains(User.class, userId));
+            assertFalse(userRepository.findById(userId).isPresent());
+            assertThrows(UserNotFoundException.class, () -> userService.getUserById(userId, version -> false));
+        }
+
+        @Test
+        void testDeleteUser_EvictsOnlyDeletedUsersPhonesAfterCommit() {
+            UUID otherId = userService.createUser(new UserRequestDTO("Ana Rodriguez", "otra@rodriguez.cl", "hunter22",
+                    Collections.singletonList(new PhoneDTO("7654321", "2", "56")))).getId();
+            userService.getUserById(userId, version -> false);
+            userService.getUserById(otherId, version -> false);
+            UUID phoneId = phoneIdOf(userId);
+            UUID otherPhoneId = phoneIdOf(otherId);
+            assertTrue(cache.contains(Phone.class, phoneId));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                userService.deleteUser(userId);
+                assertTrue(cache.contains(User.class, userId));
+                assertTrue(cache.contains(Phone.class, phoneId));
+            });
+
+            assertFalse(cache.contains(User.class, userId));
+            assertFalse(cache.contains(Phone.class, phoneId));
+            assertTrue(cache.contains(User.class, otherId));
+            assertTrue(cache.contains(Phone.class, otherPhoneId));
+        }
+
+        private UUID phoneIdOf(UUID id) {
+            return UUID.fromString(jdbcTemplate.queryForObject(
+                    "SELECT id FROM phones WHERE user_id = ?", String.class, id.toString()));
+        }
+    }
+}
@@ -1,16 +1,51 @@
 package com.bci.userapi.config;
 
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.security.PasswordEncodingProperties;
+import com.bci.userapi.security.PasswordHashingExecutor;
+import com.bci.userapi.service.IJWTService;
+import com.bci.userapi.service.IUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class SecurityConfigTest {
 
+    @DynamicPropertySource
+    static void actuatorAdmin(DynamicPropertyRegistry registry) {
+        registry.add("actuator.admin.password-hash", () -> "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secreto123"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IJWTService jwtService;
+
     @Autowired
     private SecurityConfig securityConfig;
 
@@ -20,6 +55,23 @@ class SecurityConfigTest {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
     @Test
     void testPasswordEncoderBean() {
         assertNotNull(passwordEncoder);
@@ -27,6 +79,87 @@ class SecurityConfigTest {
         assertFalse(passwordEncoder.matches("wrong", passwordEncoder.encode("test123")));
     }
 
+    @Test
+    void testPasswordEncoderBean_PrefixesAlgorithm() {
+        assertTrue(passwordEncoder.encode("test123").startsWith("{bcrypt}"));
+    }
+
+    @Test
+    void testPasswordEncoderBean_PublishesBcryptStrength() {
+        assertEquals(10.0, meterRegistry.get("password.encoding.bcrypt.strength").gauge().value());
+    }
+
+    @Test
+    void testPasswordEncoder_CalibratesWithinRange() {
+        PasswordEncodingProperties properties = new PasswordEncodingProperties();
+        properties.getBcrypt().setCalibrate(true);
+        properties.getBcrypt().setMinStrength(4);
+        properties.getBcrypt().setMaxStrength(4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PasswordHashingExecutor encoder = new SecurityConfig().passwordEncoder(1, 1, Duration.ofSeconds(1),
+                properties, registry)) {
+            assertTrue(encoder.encode("test123").startsWith("{bcrypt}$2a$04$"));
+        }
+        assertEquals(4.0, registry.get("password.encoding.bcrypt.strength").gauge().value());
+    }
+
+    @Test
+    void testPasswordEncoder_RejectsStrengthBelowFloor() {
+        PasswordEncodingProperties properties = new PasswordEncodingProperties();
+        properties.getBcrypt().setStrength(8);
+
+        assertThrows(IllegalArgumentException.class, () -> new SecurityConfig().passwordEncoder(1, 1,
+                Duration.ofSeconds(1), properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testLogin_UpgradesLegacyHash() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setName("Juan Rodriguez");
+        user.setEmail("legacy@rodriguez.cl");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("hunter22"));
+        user.setToken("token");
+        user.setIsActive(true);
+        user.setCreated(now);
+        user.setModified(now);
+        user.setLastLogin(now);
+        String id = userRepository.save(user).getId().toString();
+
+        userService.login(new LoginRequestDTO("legacy@rodriguez.cl", "hunter22"));
+
+        String stored = jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, id);
+        assertTrue(stored.startsWith("{bcrypt}$2a$10$"), stored);
+        userService.login(new LoginRequestDTO("legacy@rodriguez.cl", "hunter22"));
+        assertEquals(stored, jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, id));
+    }
+
+    @Test
+    void testActuator_HealthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testActuator_UserTokenCannotReachAdminEndpoints() throws Exception {
+        String token = jwtService.generateToken("juan@rodriguez.cl");
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/emailfilter").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "incorrecta")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testActuator_AdminCanReachAdminEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "secreto123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/emailfilter").with(httpBasic("admin", "secreto123")))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void testCorsConfigurationSourceBean() {
         assertNotNull(corsConfigurationSource);
@@ -0,0 +1,125 @@
+package com.bci.userapi.config;
+
+import com.bci.userapi.entity.Phone;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.repository.projection.UserListView;
+import org.hibernate.type.UUIDBinaryType;
+import org.hibernate.type.UUIDCharType;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UUIDStorageConfigTest {
+
+    @Test
+    void testResolveType_Char() {
+        assertSame(UUIDCharType.INSTANCE, UUIDStorageConfig.resolveType("char"));
+    }
+
+    @Test
+    void testResolveType_Binary() {
+        assertSame(UUIDBinaryType.INSTANCE, UUIDStorageConfig.resolveType("BINARY"));
+    }
+
+    @Test
+    void testResolveType_Unsupported() {
+        assertThrows(IllegalArgumentException.class, () -> UUIDStorageConfig.resolveType("uuid"));
+    }
+
+    @Nested
+    @DataJpaTest(properties = "persistence.uuid.storage=char")
+    @Import(UUIDStorageConfig.class)
+    class CharStorage {
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testCharColumns() {
+            UUID id = userRepository.saveAndFlush(buildUser()).getId();
+
+            assertEquals(7, id.version());
+            assertColumn(jdbcTemplate, "USERS", "ID", "CHARACTER VARYING", 36);
+            assertEquals(id.toString(), jdbcTemplate.queryForObject("select id from users", String.class));
+        }
+    }
+
+    @Nested
+    @DataJpaTest(properties = "persistence.uuid.storage=binary")
+    @Import(UUIDStorageConfig.class)
+    class BinaryStorage {
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testBinaryColumns() {
+            User saved = userRepository.saveAndFlush(buildUser());
+
+            assertColumn(jdbcTemplate, "USERS", "ID", "BINARY", 16);
+            assertColumn(jdbcTemplate, "PHONES", "ID", "BINARY", 16);
+            assertColumn(jdbcTemplate, "PHONES", "USER_ID", "BINARY", 16);
+            assertTrue(userRepository.findById(saved.getId()).isPresent());
+        }
+
+        @Test
+        void testKeysetPaginationOnBinaryIds() {
+            User first = userRepository.saveAndFlush(buildUser());
+            User second = buildUser();
+            second.setEmail("maria@garcia.cl");
+            userRepository.saveAndFlush(second);
+
+            List<UserListView> page = userRepository.findPageAfter(first.getCreated(), first.getId(), PageRequest.of(0, 10));
+
+            assertEquals(1, page.size());
+            assertEquals(second.getId(), page.get(0).getId());
+        }
+    }
+
+    private static void assertColumn(JdbcTemplate jdbcTemplate, String table, String column,
+                                     String dataType, long length) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select data_type, character_maximum_length from information_schema.columns "
+                        + "where table_name = ? and column_name = ?", table, column);
+        assertEquals(dataType, row.get("DATA_TYPE"));
+        assertEquals(length, ((Number) row.get("CHARACTER_MAXIMUM_LENGTH")).longValue());
+    }
+
+    private static User buildUser() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        User user = new User();
+        user.setName("Juan Rodriguez");
+        user.setEmail("juan@rodriguez.cl");
+        user.setPassword("hash");
+        user.setToken("token");
+        user.setIsActive(true);
+        user.setCreated(now);
+        user.setModified(now);
+        user.setLastLogin(now);
+        Phone phone = new Phone();
+        phone.setNumber("1234567");
+        phone.setCitycode("1");
+        phone.setCountrycode("56");
+        phone.setUser(user);
+        user.getPhones().add(phone);
+        return user;
+    }
+}
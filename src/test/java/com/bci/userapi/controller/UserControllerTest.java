@@ -3,15 +3,29 @@ package com.bci.userapi.controller;
 import com.bci.userapi.dto.ChangePasswordRequestDTO;
 import com.bci.userapi.dto.ChangePasswordResponseDTO;
 import com.bci.userapi.dto.DeleteUserResponseDTO;
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.LogoutResponseDTO;
+import com.bci.userapi.dto.UserBatchItemResponseDTO;
+import com.bci.userapi.dto.UserBatchResponseDTO;
 import com.bci.userapi.dto.PhoneDTO;
 import com.bci.userapi.dto.UserDetailResponseDTO;
 import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.dto.UserPageResponseDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateRequestDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
+import com.bci.userapi.exception.InvalidCredentialsException;
+import com.bci.userapi.exception.PasswordHashingBusyException;
+import com.bci.userapi.exception.RequestValidationException;
 import com.bci.userapi.exception.UserNotFoundException;
+import com.bci.userapi.pagination.UserPage;
+import com.bci.userapi.service.IUserBatchService;
+import com.bci.userapi.service.IUserExportService;
 import com.bci.userapi.service.IUserService;
+import com.bci.userapi.validator.plan.ValidationError;
+import com.bci.userapi.version.ResourceVersion;
+import com.bci.userapi.version.Versioned;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,14 +35,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +62,12 @@ class UserControllerTest {
     @MockBean
     private IUserService userService;
 
+    @MockBean
+    private IUserExportService userExportService;
+
+    @MockBean
+    private IUserBatchService userBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -93,11 +119,108 @@ class UserControllerTest {
     @Test
     void testCreateUser_InvalidRequest() throws Exception {
         userRequest.setName("");
+        when(userService.createUser(any(UserRequestDTO.class))).thenThrow(new RequestValidationException(Arrays.asList(
+                new ValidationError("name", "El nombre es requerido"),
+                new ValidationError("email", "El formato del correo no es válido"))));
 
         mockMvc.perform(post("/api/users")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("El nombre es requerido"))
+                .andExpect(jsonPath("$.errores.length()").value(2))
+                .andExpect(jsonPath("$.errores[1].campo").value("email"))
+                .andExpect(jsonPath("$.errores[1].mensaje").value("El formato del correo no es válido"));
+    }
+
+    @Test
+    void testLogin_Success() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class))).thenReturn(userResponse);
+
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("juan@rodriguez.cl", "hunter22"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("test-token"))
+                .andExpect(jsonPath("$.last_login").exists());
+    }
+
+    @Test
+    void testLogin_InvalidCredentials() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class)))
+                .thenThrow(new InvalidCredentialsException("Credenciales inválidas"));
+
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("juan@rodriguez.cl", "wrong"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.mensaje").value("Credenciales inválidas"));
+    }
+
+    @Test
+    void testLogin_MissingPassword() throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("juan@rodriguez.cl", ""))))
                 .andExpect(status().isBadRequest());
+
+        verify(userService, never()).login(any(LoginRequestDTO.class));
+    }
+
+    @Test
+    void testLogin_HashingBusy() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class)))
+                .thenThrow(new PasswordHashingBusyException("Demasiadas solicitudes en proceso, intente nuevamente más tarde", 1));
+
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("juan@rodriguez.cl", "hunter22"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testLogout_Success() throws Exception {
+        when(userService.logout("session-token")).thenReturn(new LogoutResponseDTO("Sesión cerrada con éxito"));
+
+        mockMvc.perform(post("/api/users/logout")
+                .header("Authorization", "bearer session-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mensaje").value("Sesión cerrada con éxito"));
+
+        verify(userService, times(1)).logout("session-token");
+    }
+
+    @Test
+    void testCreateUsers_Batch() throws Exception {
+        UserBatchResponseDTO response = new UserBatchResponseDTO(1, 1, Arrays.asList(
+                new UserBatchItemResponseDTO(0, true, userResponse, null),
+                new UserBatchItemResponseDTO(1, false, null, "El correo ya registrado")));
+        when(userBatchService.createUsers(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(userRequest, userRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[0].user.token").value("test-token"))
+                .andExpect(jsonPath("$.results[1].success").value(false))
+                .andExpect(jsonPath("$.results[1].mensaje").value("El correo ya registrado"))
+                .andExpect(jsonPath("$.results[1].user").doesNotExist());
+    }
+
+    @Test
+    void testCreateUsers_EmptyBatch() throws Exception {
+        when(userBatchService.createUsers(anyList()))
+                .thenThrow(new IllegalArgumentException("Debe incluir al menos un usuario"));
+
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("Debe incluir al menos un usuario"));
     }
 
     @Test
@@ -108,20 +231,60 @@ class UserControllerTest {
         detailResponse.setEmail("juan@rodriguez.cl");
         detailResponse.setIsActive(true);
 
-        when(userService.getUserById(userId)).thenReturn(detailResponse);
+        ResourceVersion version = ResourceVersion.of(LocalDateTime.of(2024, 1, 15, 10, 30));
+        stubUser(version, detailResponse);
 
         mockMvc.perform(get("/api/users/" + userId)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.getEtag()))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.id").value(userId.toString()))
                 .andExpect(jsonPath("$.name").value("Juan Rodriguez"))
                 .andExpect(jsonPath("$.email").value("juan@rodriguez.cl"))
                 .andExpect(jsonPath("$.is_active").value(true));
     }
 
+    @Test
+    void testGetUserById_NotModifiedByEtag() throws Exception {
+        ResourceVersion version = ResourceVersion.of(LocalDateTime.of(2024, 1, 15, 10, 30));
+        stubUser(version, new UserDetailResponseDTO());
+
+        mockMvc.perform(get("/api/users/" + userId)
+                .header("If-None-Match", version.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", version.getEtag()))
+                .andExpect(content().string(""));
+
+        verify(userService, times(1)).getUserById(eq(userId), any());
+    }
+
+    @Test
+    void testGetUserById_NotModifiedSince() throws Exception {
+        ResourceVersion version = ResourceVersion.of(LocalDateTime.of(2024, 1, 15, 10, 30));
+        stubUser(version, new UserDetailResponseDTO());
+
+        mockMvc.perform(get("/api/users/" + userId)
+                .header("If-Modified-Since", version.getLastModified() + 1000))
+                .andExpect(status().isNotModified());
+
+        verify(userService, times(1)).getUserById(eq(userId), any());
+    }
+
+    @Test
+    void testGetUserById_StaleEtag() throws Exception {
+        ResourceVersion version = ResourceVersion.of(LocalDateTime.of(2024, 1, 15, 10, 30));
+        stubUser(version, new UserDetailResponseDTO());
+
+        mockMvc.perform(get("/api/users/" + userId)
+                .header("If-None-Match", "\"123\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.getEtag()));
+    }
+
     @Test
     void testGetUserById_NotFound() throws Exception {
-        when(userService.getUserById(userId)).thenThrow(new UserNotFoundException("Usuario no encontrado"));
+        when(userService.getUserById(eq(userId), any())).thenThrow(new UserNotFoundException("Usuario no encontrado"));
 
         mockMvc.perform(get("/api/users/" + userId)
                 .contentType(MediaType.APPLICATION_JSON))
@@ -143,15 +306,78 @@ class UserControllerTest {
         user2.setEmail("maria@garcia.cl");
 
         List<UserListResponseDTO> users = Arrays.asList(user1, user2);
-        when(userService.getAllUsers()).thenReturn(users);
+        UserPage page = new UserPage(new ArrayList<>(), "next-cursor");
+        when(userService.getUserPage(null, null)).thenReturn(page);
+        when(userService.getAllUsers(page)).thenReturn(new UserPageResponseDTO(users, "next-cursor"));
+
+        mockMvc.perform(get("/api/users")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", page.version().getEtag()))
+                .andExpect(jsonPath("$.users").isArray())
+                .andExpect(jsonPath("$.users.length()").value(2))
+                .andExpect(jsonPath("$.users[0].name").value("Juan Rodriguez"))
+                .andExpect(jsonPath("$.users[1].name").value("Maria Garcia"))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+    }
+
+    @Test
+    void testGetAllUsers_WithCursorAndSize() throws Exception {
+        UserPage page = new UserPage(new ArrayList<>(), null);
+        when(userService.getUserPage("abc", 5)).thenReturn(page);
+        when(userService.getAllUsers(page)).thenReturn(new UserPageResponseDTO(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/api/users")
+                .param("cursor", "abc")
+                .param("size", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(0));
+
+        verify(userService, times(1)).getUserPage("abc", 5);
+    }
+
+    @Test
+    void testGetAllUsers_NotModified() throws Exception {
+        UserPage page = new UserPage(new ArrayList<>(), null);
+        when(userService.getUserPage(null, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/users")
+                .header("If-None-Match", page.version().getEtag()))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).getAllUsers(any(UserPage.class));
+    }
+
+    @Test
+    void testGetAllUsers_InvalidCursor() throws Exception {
+        when(userService.getUserPage("abc", null)).thenThrow(new IllegalArgumentException("El cursor no es válido"));
 
         mockMvc.perform(get("/api/users")
+                .param("cursor", "abc")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("El cursor no es válido"));
+    }
+
+    @Test
+    void testExportUsers_Success() throws Exception {
+        when(userExportService.exportUsers(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"name\":\"Juan Rodriguez\"}\n{\"name\":\"Maria Garcia\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Juan Rodriguez"))
-                .andExpect(jsonPath("$[1].name").value("Maria Garcia"));
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"name\":\"Juan Rodriguez\"}\n{\"name\":\"Maria Garcia\"}\n"));
+
+        verify(userExportService, times(1)).exportUsers(any(OutputStream.class));
     }
 
     @Test
@@ -246,5 +472,12 @@ class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.mensaje").value("Usuario no encontrado"));
     }
-}
 
+    // Answers like the service: the body is only built when the controller reports the version as changed
+    private void stubUser(ResourceVersion version, UserDetailResponseDTO body) {
+        when(userService.getUserById(eq(userId), any())).thenAnswer(invocation -> {
+            Predicate<ResourceVersion> unchanged = invocation.getArgument(1);
+            return new Versioned<>(unchanged.test(version) ? null : body, version);
+        });
+    }
+}
@@ -0,0 +1,337 @@
+package com.bci.userapi.controller;
+
+import com.bci.userapi.bloom.EmailBloomFilter;
+import com.bci.userapi.config.SecondLevelCacheConfig;
+import com.bci.userapi.entity.Phone;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class UserEndpointQueryCountTest {
+
+    private static final int USERS = 30;
+    private static final int PHONES_PER_USER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    private Statistics statistics;
+    private List<UUID> userIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userIds = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 30);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Usuario " + i);
+            user.setEmail("usuario" + i + "@bci.cl");
+            user.setPassword("hash");
+            user.setToken("token");
+            user.setIsActive(true);
+            user.setCreated(base.plusSeconds(i));
+            user.setModified(base);
+            user.setLastLogin(base);
+            for (int j = 0; j < PHONES_PER_USER; j++) {
+                Phone phone = new Phone();
+                phone.setNumber("12345" + j);
+                phone.setCitycode("1");
+                phone.setCountrycode("56");
+                phone.setUser(user);
+                user.getPhones().add(phone);
+            }
+            userIds.add(userRepository.save(user).getId());
+        }
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testGetAllUsers_ConstantStatementCount() throws Exception {
+        mockMvc.perform(get("/api/users").param("size", String.valueOf(USERS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(USERS))
+                .andExpect(jsonPath("$.users[0].phones.length()").value(PHONES_PER_USER));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetAllUsers_NextPageConstantStatementCount() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/users").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users").param("size", "10").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(10))
+                .andExpect(jsonPath("$.users[0].name").value("Usuario 10"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetUserById_LoadsOnceThenCached() throws Exception {
+        mockMvc.perform(get("/api/users/" + userIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phones.length()").value(PHONES_PER_USER))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.token").doesNotExist());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users/" + userIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phones.length()").value(PHONES_PER_USER));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.USER_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void testGetUserById_NotModifiedSkipsPhones() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/users/" + userIds.get(0)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users/" + userIds.get(0)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testGetAllUsers_NotModifiedSkipsPhones() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/users").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCreateUser_InsertsWithoutPreInsertQuery() throws Exception {
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("nuevo@bci.cl")))
+                .andExpect(status().isCreated());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testCreateUser_DuplicateEmailRejectedByConstraint() throws Exception {
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("usuario0@bci.cl")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensaje").value("El correo ya registrado"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(USERS, userRepository.count());
+    }
+
+    @Test
+    void testCreateUser_ConstraintModeNeverQueriesEmail() throws Exception {
+        // A Bloom "maybe" after a delete would cost an existsByEmail round trip in QUERY mode
+        emailBloomFilter.add("usuario1@bci.cl");
+        emailBloomFilter.markStale();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("usuario1@bci.cl")))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void testCreateUsersBatch_BatchedInserts() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < USERS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"name\":\"Lote ").append(i).append("\",\"email\":\"lote").append(i)
+                    .append("@bci.cl\",\"password\":\"clave1234\",\"phones\":[")
+                    .append("{\"number\":\"1\",\"citycode\":\"1\",\"countrycode\":\"56\"},")
+                    .append("{\"number\":\"2\",\"citycode\":\"1\",\"countrycode\":\"56\"}]}");
+        }
+        body.append(']');
+
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(USERS));
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(USERS * 3, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testExportUsers_ConstantStatementCount() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // user projections, then one phones IN query for the only chunk
+        assertEquals(USERS, body.split("\n").length);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testUpdateUser_NameOnlyEditKeepsPhoneRows() throws Exception {
+        UUID id = userIds.get(0);
+        List<UUID> phoneIdsBefore = phoneIds(id);
+
+        mockMvc.perform(put("/api/users/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateBody("Nombre Nuevo", "123452", "123450", "123451")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phones.length()").value(PHONES_PER_USER));
+
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(phoneIdsBefore, phoneIds(id));
+    }
+
+    @Test
+    void testUpdateUser_ReplacesOnlyChangedPhone() throws Exception {
+        UUID id = userIds.get(0);
+
+        mockMvc.perform(put("/api/users/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateBody("Usuario 0", "123450", "123451", "999999")))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+    }
+
+    @Test
+    void testDeleteUser_LocksEmailThenDeletes() throws Exception {
+        UUID id = userIds.get(0);
+        mockMvc.perform(get("/api/users/" + id)).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/users/" + id))
+                .andExpect(status().isOk());
+
+        // email locked with select for update, row deleted, then the revocation watermark is merged into revoked_subjects
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, id));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM phones WHERE user_id = ?", Integer.class, id.toString()));
+        assertEquals(USERS - 1, userRepository.count());
+
+        mockMvc.perform(delete("/api/users/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    private String updateBody(String name, String... numbers) {
+        StringBuilder body = new StringBuilder("{\"name\":\"").append(name)
+                .append("\",\"email\":\"usuario0@bci.cl\",\"phones\":[");
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"number\":\"").append(numbers[i]).append("\",\"citycode\":\"1\",\"countrycode\":\"56\"}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private List<UUID> phoneIds(UUID userId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                userRepository.findById(userId).orElseThrow(IllegalStateException::new).getPhones().stream()
+                        .map(Phone::getId)
+                        .sorted()
+                        .collect(Collectors.toList()));
+    }
+
+    private static String userJson(String email) {
+        return "{\"name\":\"Nuevo\",\"email\":\"" + email + "\",\"password\":\"clave1234\",\"phones\":["
+                + "{\"number\":\"1\",\"citycode\":\"1\",\"countrycode\":\"56\"}]}";
+    }
+}
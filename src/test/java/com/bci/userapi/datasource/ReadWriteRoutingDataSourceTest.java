@@ -0,0 +1,56 @@
+package com.bci.userapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaDataSource replica = new ReplicaDataSource("replica-0", mock(DataSource.class));
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            mock(DataSource.class), new ReplicaPool(Collections.singletonList(replica), ReplicaSelectionStrategy.ROUND_ROBIN));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+    }
+
+    @Test
+    void testLookupKey_WriteGoesToPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLookupKey_ReadOnlyGoesToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLookupKey_RepositoryDefaultReadOnlyGoesToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(
+                "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findByEmail");
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionName("com.bci.userapi.service.UserService.getUserById");
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLookupKey_ReadOnlyFallsBackToPrimaryWhenReplicasLag() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica.update(false, 60);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+}
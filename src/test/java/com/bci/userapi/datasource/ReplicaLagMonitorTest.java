@@ -0,0 +1,87 @@
+package com.bci.userapi.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    private static final String LAG_QUERY = "SELECT lag FROM replication_status";
+
+    private DataSource dataSource;
+    private ResultSet resultSet;
+    private ReplicaDataSource replica;
+    private MeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        replica = new ReplicaDataSource("replica-0", dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(new ReplicaPool(Collections.singletonList(replica),
+                ReplicaSelectionStrategy.ROUND_ROBIN), LAG_QUERY, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void testCheckLag_WithinTolerance() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(2.5);
+
+        monitor.checkLag();
+
+        assertTrue(replica.isAvailable());
+        assertEquals(2.5, meterRegistry.get("datasource.replica.lag").tag("replica", "replica-0").gauge().value());
+    }
+
+    @Test
+    void testCheckLag_ExceedsToleranceAndRecovers() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(12.0, 1.0);
+
+        monitor.checkLag();
+        assertFalse(replica.isAvailable());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.available").gauge().value());
+
+        monitor.checkLag();
+        assertTrue(replica.isAvailable());
+    }
+
+    @Test
+    void testCheckLag_QueryFailureDisablesReplica() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        monitor.checkLag();
+
+        assertFalse(replica.isAvailable());
+    }
+
+    @Test
+    void testCheckLag_WithoutQueryKeepsReplicasAvailable() throws SQLException {
+        ReplicaLagMonitor withoutQuery = new ReplicaLagMonitor(new ReplicaPool(Collections.singletonList(replica),
+                ReplicaSelectionStrategy.ROUND_ROBIN), null, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        withoutQuery.checkLag();
+
+        assertTrue(replica.isAvailable());
+        verify(dataSource, never()).getConnection();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bci.userapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaPoolTest {
+
+    @Test
+    void testSelect_RoundRobin() {
+        ReplicaDataSource first = new ReplicaDataSource("replica-0", mock(DataSource.class));
+        ReplicaDataSource second = new ReplicaDataSource("replica-1", mock(DataSource.class));
+        ReplicaPool pool = new ReplicaPool(Arrays.asList(first, second), ReplicaSelectionStrategy.ROUND_ROBIN);
+
+        assertSame(first, pool.select());
+        assertSame(second, pool.select());
+        assertSame(first, pool.select());
+    }
+
+    @Test
+    void testSelect_SkipsUnavailableReplicas() {
+        ReplicaDataSource first = new ReplicaDataSource("replica-0", mock(DataSource.class));
+        ReplicaDataSource second = new ReplicaDataSource("replica-1", mock(DataSource.class));
+        first.update(false, 30);
+        ReplicaPool pool = new ReplicaPool(Arrays.asList(first, second), ReplicaSelectionStrategy.ROUND_ROBIN);
+
+        assertSame(second, pool.select());
+        assertSame(second, pool.select());
+    }
+
+    @Test
+    void testSelect_NoAvailableReplicas() {
+        ReplicaDataSource replica = new ReplicaDataSource("replica-0", mock(DataSource.class));
+        replica.update(false, 30);
+
+        assertNull(new ReplicaPool(Collections.singletonList(replica), ReplicaSelectionStrategy.ROUND_ROBIN).select());
+        assertNull(new ReplicaPool(Collections.emptyList(), ReplicaSelectionStrategy.LEAST_BUSY).select());
+    }
+
+    @Test
+    void testSelect_LeastBusy() {
+        ReplicaDataSource busy = new ReplicaDataSource("replica-0", hikari(5));
+        ReplicaDataSource idle = new ReplicaDataSource("replica-1", hikari(1));
+        ReplicaPool pool = new ReplicaPool(Arrays.asList(busy, idle), ReplicaSelectionStrategy.LEAST_BUSY);
+
+        assertSame(idle, pool.select());
+        assertSame(idle, pool.select());
+    }
+
+    @Test
+    void testClose_ClosesReplicaDataSources() throws Exception {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        ReplicaPool pool = new ReplicaPool(
+                Collections.singletonList(new ReplicaDataSource("replica-0", dataSource)), ReplicaSelectionStrategy.ROUND_ROBIN);
+
+        pool.close();
+
+        verify(dataSource, times(1)).close();
+    }
+
+    private HikariDataSource hikari(int activeConnections) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        return dataSource;
+    }
+}
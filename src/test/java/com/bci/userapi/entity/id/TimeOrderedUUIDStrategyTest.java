@@ -0,0 +1,58 @@
+package com.bci.userapi.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUUIDStrategyTest {
+
+    private final TimeOrderedUUIDStrategy strategy = new TimeOrderedUUIDStrategy();
+
+    @Test
+    void testGenerateUUID_VersionAndVariant() {
+        UUID uuid = strategy.generateUUID(null);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(7, strategy.getGeneratedVersion());
+    }
+
+    @Test
+    void testGenerateUUID_EmbedsCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = strategy.generateUUID(null);
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testGenerateUUID_MonotonicAndUnique() {
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            generated.add(strategy.generateUUID(null));
+        }
+
+        Set<UUID> unique = new HashSet<>(generated);
+        assertEquals(generated.size(), unique.size());
+        for (int i = 1; i < generated.size(); i++) {
+            assertTrue(compareUnsigned(generated.get(i - 1), generated.get(i)) < 0);
+            assertTrue(generated.get(i - 1).toString().compareTo(generated.get(i).toString()) < 0);
+        }
+    }
+
+    private int compareUnsigned(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        if (result != 0) {
+            return result;
+        }
+        return Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
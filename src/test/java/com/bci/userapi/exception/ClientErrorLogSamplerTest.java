@@ -0,0 +1,55 @@
+package com.bci.userapi.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientErrorLogSamplerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ClientErrorLogSampler sampler =
+            new ClientErrorLogSampler(3, Duration.ofSeconds(1), 10, now::get);
+
+    @Test
+    void testSample_LogsBurstThenOneInRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, sampler.sample("email.format"));
+        }
+        for (int i = 0; i < 9; i++) {
+            assertEquals(ClientErrorLogSampler.SKIP, sampler.sample("email.format"));
+        }
+        assertEquals(9, sampler.sample("email.format"));
+        assertEquals(ClientErrorLogSampler.SKIP, sampler.sample("email.format"));
+    }
+
+    @Test
+    void testSample_KeysAreIndependent() {
+        for (int i = 0; i < 5; i++) {
+            sampler.sample("email.format");
+        }
+
+        assertEquals(0, sampler.sample("password.format"));
+    }
+
+    @Test
+    void testSample_NewWindowReportsSkippedEvents() {
+        for (int i = 0; i < 7; i++) {
+            sampler.sample("email.format");
+        }
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(4, sampler.sample("email.format"));
+        assertEquals(0, sampler.sample("email.format"));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientErrorLogSampler(1, Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ClientErrorLogSampler(1, Duration.ofSeconds(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> new ClientErrorLogSampler(-1, Duration.ofSeconds(1), 1));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bci.userapi.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmailConstraintLogFilterTest {
+
+    private static final String DUPLICATE = "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)\"";
+
+    private final LoggerContext context = new LoggerContext();
+    private final EmailConstraintLogFilter filter = new EmailConstraintLogFilter();
+
+    @Test
+    void testDecide_DeniesEmailDuplicateMessage() {
+        Logger logger = context.getLogger(EmailConstraintLogFilter.SQL_EXCEPTION_HELPER);
+
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.ERROR, DUPLICATE, null, null));
+    }
+
+    @Test
+    void testDecide_DeniesBatchFailureCausedByEmailDuplicate() {
+        Logger logger = context.getLogger(EmailConstraintLogFilter.BATCHING_BATCH);
+        Throwable t = new RuntimeException("batch", new SQLIntegrityConstraintViolationException(DUPLICATE));
+
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.ERROR, "HHH000315: Exception executing batch", null, t));
+    }
+
+    @Test
+    void testDecide_KeepsOtherErrors() {
+        Logger helper = context.getLogger(EmailConstraintLogFilter.SQL_EXCEPTION_HELPER);
+        Logger other = context.getLogger("com.bci.userapi.service.UserService");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, helper, Level.ERROR, "Table \"USERS\" not found", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.ERROR, DUPLICATE, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, helper, Level.WARN, "SQL Error: 23505, SQLState: 23505", null, null));
+    }
+}
@@ -1,7 +1,10 @@
 package com.bci.userapi.exception;
 
+import com.bci.userapi.validator.plan.ValidationError;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ExceptionTest {
@@ -55,5 +58,24 @@ class ExceptionTest {
         assertEquals(message, exception.getMessage());
         assertTrue(exception instanceof RuntimeException);
     }
-}
 
+    @Test
+    void testClientErrorExceptionsAreStackless() {
+        RuntimeException[] exceptions = {
+                new EmailAlreadyExistsException("El correo ya registrado"),
+                new InvalidEmailFormatException("El formato del correo no es válido"),
+                new InvalidPasswordFormatException("El formato de la contraseña no es válido"),
+                new PasswordMismatchException("Las contraseñas no coinciden"),
+                new InvalidCredentialsException("Credenciales inválidas"),
+                new UserNotFoundException("Usuario no encontrado"),
+                new PasswordHashingBusyException("Servicio ocupado", 1),
+                new RequestValidationException(Collections.singletonList(new ValidationError("email", "requerido")))
+        };
+
+        for (RuntimeException exception : exceptions) {
+            assertEquals(0, exception.getStackTrace().length, exception.getClass().getSimpleName());
+            exception.addSuppressed(new RuntimeException());
+            assertEquals(0, exception.getSuppressed().length);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.bci.userapi.exception;
 
 import com.bci.userapi.dto.ErrorResponseDTO;
+import com.bci.userapi.dto.ValidationErrorResponseDTO;
+import com.bci.userapi.validator.plan.ValidationError;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
@@ -12,7 +16,10 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,7 +31,7 @@ class GlobalExceptionHandlerTest {
 
     @BeforeEach
     void setUp() {
-        exceptionHandler = new GlobalExceptionHandler();
+        exceptionHandler = new GlobalExceptionHandler(20, Duration.ofMinutes(1), 100);
     }
 
     @Test
@@ -37,6 +44,47 @@ class GlobalExceptionHandlerTest {
         assertEquals("El correo ya registrado", response.getBody().getMensaje());
     }
 
+    @Test
+    void testHandleDataIntegrityViolation_EmailConstraint() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException("23505"), "PUBLIC.UK_USERS_EMAIL_INDEX_4"));
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleDataIntegrityViolation(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("El correo ya registrado", response.getBody().getMensaje());
+    }
+
+    @Test
+    void testHandleDataIntegrityViolation_OtherConstraint() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException("23506"), "FK_PHONES_USER"));
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleDataIntegrityViolation(ex);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("Error interno del servidor", response.getBody().getMensaje());
+    }
+
+    @Test
+    void testHandleInvalidCredentials() {
+        InvalidCredentialsException ex = new InvalidCredentialsException("Credenciales inválidas");
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleInvalidCredentials(ex);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Credenciales inválidas", response.getBody().getMensaje());
+    }
+
+    @Test
+    void testHandlePasswordHashingBusy() {
+        PasswordHashingBusyException ex = new PasswordHashingBusyException("Demasiadas solicitudes", 2);
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handlePasswordHashingBusy(ex);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals("Demasiadas solicitudes", response.getBody().getMensaje());
+    }
+
     @Test
     void testHandleInvalidEmailFormat() {
         InvalidEmailFormatException ex = new InvalidEmailFormatException("El formato del correo no es válido");
@@ -67,6 +115,21 @@ class GlobalExceptionHandlerTest {
         assertEquals("Las contraseñas no coinciden", response.getBody().getMensaje());
     }
 
+    @Test
+    void testHandleRequestValidation() {
+        RequestValidationException ex = new RequestValidationException(Arrays.asList(
+                new ValidationError("name", "El nombre es requerido"),
+                new ValidationError("password", "La contraseña es requerida")));
+        ResponseEntity<ValidationErrorResponseDTO> response = exceptionHandler.handleRequestValidation(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("El nombre es requerido", response.getBody().getMensaje());
+        assertEquals(2, response.getBody().getErrores().size());
+        assertEquals("password", response.getBody().getErrores().get(1).getCampo());
+        assertEquals("La contraseña es requerida", response.getBody().getErrores().get(1).getMensaje());
+    }
+
     @Test
     void testHandleIllegalArgument() {
         IllegalArgumentException ex = new IllegalArgumentException("El nombre es requerido");
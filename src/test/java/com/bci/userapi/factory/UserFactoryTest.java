@@ -59,7 +59,7 @@ class UserFactoryTest {
         phone.setCountrycode("57");
 
         when(userMapper.toEntity(userRequestDTO)).thenReturn(user);
-        when(passwordEncoder.encode("hunter123")).thenReturn("encoded-password");
+        lenient().when(passwordEncoder.encode("hunter123")).thenReturn("encoded-password");
         lenient().when(userMapper.toPhoneEntity(any(PhoneDTO.class), any(User.class))).thenReturn(phone);
     }
 
@@ -122,5 +122,13 @@ class UserFactoryTest {
         assertTrue(result.getPhones().isEmpty());
         verify(userMapper, never()).toPhoneEntity(any(PhoneDTO.class), any(User.class));
     }
-}
 
+    @Test
+    void testCreateUser_PrecomputedHash() {
+        User result = userFactory.createUser(userRequestDTO, "test-token", "precomputed-hash");
+
+        assertEquals("precomputed-hash", result.getPassword());
+        assertEquals("test-token", result.getToken());
+        verifyNoInteractions(passwordEncoder);
+    }
+}
@@ -8,11 +8,14 @@ import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
 import com.bci.userapi.entity.Phone;
 import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -101,6 +104,28 @@ class UserMapperTest {
         assertEquals(phone.getNumber(), result.getPhones().get(0).getNumber());
     }
 
+    @Test
+    void testToListResponseDTOList() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID otherId = UUID.randomUUID();
+        List<UserListView> users = Arrays.asList(
+                new UserListView(user.getId(), "Juan Rodriguez", "juan@rodriguez.cl", now, now, true, now),
+                new UserListView(otherId, "Maria Garcia", "maria@garcia.cl", now, now, false, now));
+        List<PhoneView> phones = Arrays.asList(
+                new PhoneView(user.getId(), "1234567", "1", "57"),
+                new PhoneView(user.getId(), "7654321", "2", "56"));
+
+        List<UserListResponseDTO> result = userMapper.toListResponseDTOList(users, phones);
+
+        assertEquals(2, result.size());
+        assertEquals("Juan Rodriguez", result.get(0).getName());
+        assertEquals(2, result.get(0).getPhones().size());
+        assertEquals(now, result.get(0).getLastLogin());
+        assertEquals("Maria Garcia", result.get(1).getName());
+        assertFalse(result.get(1).getIsActive());
+        assertTrue(result.get(1).getPhones().isEmpty());
+    }
+
     @Test
     void testToUpdateResponseDTO() {
         UserUpdateResponseDTO result = userMapper.toUpdateResponseDTO(user);
@@ -190,5 +215,54 @@ class UserMapperTest {
         assertNotNull(result.getPhones());
         assertTrue(result.getPhones().isEmpty());
     }
-}
 
+    @Test
+    void testMergePhones_UnchangedPhonesKeepIdentity() {
+        userMapper.mergePhones(user, Arrays.asList(new PhoneDTO("1234567", "1", "57")));
+
+        assertEquals(1, user.getPhones().size());
+        assertSame(phone, user.getPhones().get(0));
+    }
+
+    @Test
+    void testMergePhones_AddsAndRemovesOnlyDifferences() {
+        userMapper.mergePhones(user, Arrays.asList(
+                new PhoneDTO("7654321", "2", "56"),
+                new PhoneDTO("1234567", "1", "57")));
+
+        assertEquals(2, user.getPhones().size());
+        assertSame(phone, user.getPhones().get(0));
+        Phone added = user.getPhones().get(1);
+        assertNull(added.getId());
+        assertEquals("7654321", added.getNumber());
+        assertSame(user, added.getUser());
+
+        userMapper.mergePhones(user, Arrays.asList(new PhoneDTO("7654321", "2", "56")));
+
+        assertEquals(1, user.getPhones().size());
+        assertSame(added, user.getPhones().get(0));
+    }
+
+    @Test
+    void testMergePhones_DuplicateNumbers() {
+        userMapper.mergePhones(user, Arrays.asList(
+                new PhoneDTO("1234567", "1", "57"),
+                new PhoneDTO("1234567", "1", "57")));
+
+        assertEquals(2, user.getPhones().size());
+        assertSame(phone, user.getPhones().get(0));
+
+        userMapper.mergePhones(user, Arrays.asList(new PhoneDTO("1234567", "1", "57")));
+
+        assertEquals(1, user.getPhones().size());
+    }
+
+    @Test
+    void testMergePhones_SameNumberDifferentCityCode() {
+        userMapper.mergePhones(user, Arrays.asList(new PhoneDTO("1234567", "2", "57")));
+
+        assertEquals(1, user.getPhones().size());
+        assertNotSame(phone, user.getPhones().get(0));
+        assertEquals("2", user.getPhones().get(0).getCitycode());
+    }
+}
@@ -0,0 +1,37 @@
+package com.bci.userapi.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageSizePolicyTest {
+
+    private final PageSizePolicy policy = new PageSizePolicy(20, 100);
+
+    @Test
+    void testResolve_DefaultSize() {
+        assertEquals(20, policy.resolve(null));
+    }
+
+    @Test
+    void testResolve_RequestedSize() {
+        assertEquals(50, policy.resolve(50));
+    }
+
+    @Test
+    void testResolve_CappedAtMaxSize() {
+        assertEquals(100, policy.resolve(5000));
+    }
+
+    @Test
+    void testResolve_NonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> policy.resolve(0));
+        assertThrows(IllegalArgumentException.class, () -> policy.resolve(-1));
+    }
+
+    @Test
+    void testConstructor_InvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new PageSizePolicy(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new PageSizePolicy(200, 100));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bci.userapi.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456789);
+        UUID id = UUID.randomUUID();
+
+        UserCursor cursor = UserCursor.decode(new UserCursor(created, id).encode());
+
+        assertEquals(created, cursor.getCreated());
+        assertEquals(id, cursor.getId());
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        String encoded = new UserCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertTrue(encoded.matches("^[A-Za-z0-9_-]+$"));
+    }
+
+    @Test
+    void testDecode_InvalidBase64() {
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("%%%"));
+    }
+
+    @Test
+    void testDecode_MissingSeparator() {
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("YWJj"));
+    }
+
+    @Test
+    void testDecode_InvalidId() {
+        String encoded = Base64.getUrlEncoder().encodeToString("2024-01-15T10:30|abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(encoded));
+    }
+}
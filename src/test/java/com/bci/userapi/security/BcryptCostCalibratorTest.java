@@ -0,0 +1,51 @@
+package com.bci.userapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BcryptCostCalibratorTest {
+
+    private static final Duration TARGET = Duration.ofMillis(50);
+
+    @Test
+    void testCalibrate_PicksCostClosestToTarget() {
+        assertEquals(12, calibrator(10, 16, millisAtTen(12)).calibrate());
+        assertEquals(10, calibrator(10, 16, millisAtTen(40)).calibrate());
+        assertEquals(11, calibrator(10, 16, millisAtTen(30)).calibrate());
+    }
+
+    @Test
+    void testCalibrate_NeverBelowFloor() {
+        assertEquals(10, calibrator(10, 16, millisAtTen(180)).calibrate());
+    }
+
+    @Test
+    void testCalibrate_CappedAtMaximum() {
+        assertEquals(13, calibrator(10, 13, millisAtTen(1)).calibrate());
+    }
+
+    @Test
+    void testCalibrate_RealBcrypt() {
+        assertEquals(4, new BcryptCostCalibrator(TARGET, 0.2, 4, 4).calibrate());
+    }
+
+    @Test
+    void testConstructor_InvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BcryptCostCalibrator(Duration.ZERO, 0.2, 10, 16));
+        assertThrows(IllegalArgumentException.class, () -> new BcryptCostCalibrator(TARGET, 1.5, 10, 16));
+        assertThrows(IllegalArgumentException.class, () -> new BcryptCostCalibrator(TARGET, 0.2, 3, 16));
+        assertThrows(IllegalArgumentException.class, () -> new BcryptCostCalibrator(TARGET, 0.2, 12, 10));
+    }
+
+    private BcryptCostCalibrator calibrator(int min, int max, IntToLongFunction timer) {
+        return new BcryptCostCalibrator(TARGET, 0.2, min, max, timer);
+    }
+
+    private IntToLongFunction millisAtTen(long millis) {
+        return strength -> (long) (millis * 1_000_000L * Math.pow(2, strength - 10));
+    }
+}
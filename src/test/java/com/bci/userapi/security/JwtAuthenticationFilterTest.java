@@ -0,0 +1,197 @@
+package com.bci.userapi.security;
+
+import com.bci.userapi.activity.LastLoginRecorder;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.repository.RevokedSubjectRepository;
+import com.bci.userapi.repository.RevokedTokenRepository;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.service.IJWTService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "last-login.flush-interval=3600000"
+})
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IJWTService jwtService;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RevokedSubjectRepository revokedSubjectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setName("Juan Rodriguez");
+        user.setEmail("juan@rodriguez.cl");
+        user.setPassword("hash");
+        user.setToken("token");
+        user.setIsActive(true);
+        user.setCreated(now);
+        user.setModified(now);
+        user.setLastLogin(now);
+        userId = userRepository.save(user).getId();
+        lastLoginRecorder.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        revokedTokenRepository.deleteAll();
+        revokedSubjectRepository.deleteAll();
+    }
+
+    @Test
+    void testProtectedEndpoint_WithoutToken() throws Exception {
+        mockMvc.perform(get("/api/users/" + userId))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"))
+                .andExpect(jsonPath("$.mensaje").value("Se requiere un token de autenticación"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testProtectedEndpoint_InvalidTokenRejectedBeforeJpa() throws Exception {
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer invalid.token.here"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.mensaje").value("Token inválido o expirado"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, lastLoginRecorder.pendingCount());
+    }
+
+    @Test
+    void testProtectedEndpoint_ValidToken() throws Exception {
+        String token = jwtService.generateToken("juan@rodriguez.cl");
+
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("juan@rodriguez.cl"));
+
+        assertEquals(1, lastLoginRecorder.pendingCount());
+        lastLoginRecorder.flush();
+    }
+
+    @Test
+    void testPublicEndpoints_WithoutToken() throws Exception {
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Ana\",\"email\":\"ana@rodriguez.cl\",\"password\":\"hunter22\","
+                        + "\"phones\":[{\"number\":\"1234567\",\"citycode\":\"1\",\"countrycode\":\"57\"}]}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"ana@rodriguez.cl\",\"password\":\"hunter22\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+
+        lastLoginRecorder.flush();
+    }
+
+    @Test
+    void testLogout_RevokedTokenRejectedAndReloaded() throws Exception {
+        String token = jwtService.generateToken("juan@rodriguez.cl");
+        String otherSession = jwtService.generateToken("juan@rodriguez.cl");
+
+        mockMvc.perform(post("/api/users/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mensaje").value("Sesión cerrada con éxito"));
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.mensaje").value("Token inválido o expirado"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer " + otherSession))
+                .andExpect(status().isOk());
+
+        String jti = jwtService.parseClaims(otherSession).orElseThrow(AssertionError::new).getId();
+        TokenDenylist restarted = new TokenDenylist(revokedTokenRepository, revokedSubjectRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1));
+        restarted.load();
+        assertEquals(1, restarted.size());
+        assertFalse(restarted.isRevoked(jti));
+        lastLoginRecorder.flush();
+    }
+
+    @Test
+    void testDeleteUser_RevokesEveryTokenOfUser() throws Exception {
+        String earlierSession = jwtService.generateToken("juan@rodriguez.cl");
+        String token = jwtService.generateToken("juan@rodriguez.cl");
+
+        mockMvc.perform(delete("/api/users/" + userId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + earlierSession))
+                .andExpect(status().isUnauthorized());
+        assertFalse(jwtService.validateToken(token));
+        assertEquals(0, revokedTokenRepository.count());
+        assertEquals(1, revokedSubjectRepository.count());
+        lastLoginRecorder.flush();
+    }
+
+    @Test
+    void testChangePassword_RevokesEveryTokenOfUser() throws Exception {
+        String earlierSession = jwtService.generateToken("juan@rodriguez.cl");
+        String token = jwtService.generateToken("juan@rodriguez.cl");
+
+        mockMvc.perform(put("/api/users/" + userId + "/password")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"password\":\"nueva2024\",\"confirmPassword\":\"nueva2024\"}"))
+                .andExpect(status().isOk());
+
+        assertFalse(jwtService.validateToken(earlierSession));
+        assertFalse(jwtService.validateToken(token));
+        assertTrue(jwtService.validateToken(jwtService.generateToken("juan@rodriguez.cl")));
+        lastLoginRecorder.flush();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bci.userapi.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.SerializationException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtMinterTest {
+
+    private static final long IAT = 1705314600L;
+    private static final long EXP = IAT + 86400L;
+    private static final String JTI = "0b7f8c9e-3c1a-4e7d-9f2b-5a6d7e8f9a0b";
+
+    private SecretKey key;
+    private JwtMinter minter;
+
+    @BeforeEach
+    void setUp() {
+        key = Keys.hmacShaKeyFor(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity"
+                        .getBytes(StandardCharsets.UTF_8));
+        minter = new JwtMinter(key);
+    }
+
+    @Test
+    void testMint_IdenticalToJjwtBuilder() {
+        for (String subject : new String[]{"juan@rodriguez.cl", "ñandú@correo.cl", "raro\"\\\n\u0001@bci.cl"}) {
+            assertEquals(jjwt(subject, JTI, IAT, EXP), minter.mint(subject, JTI, IAT, EXP), subject);
+        }
+    }
+
+    // Jackson 2.13 escapes surrogate pairs in UTF-8 output, so jjwt is given a serializer that writes them raw
+    @Test
+    void testMint_NonBmpSubjectWrittenAsUtf8() {
+        String subject = "emoji\uD83D\uDE00@bci.cl";
+        String token = minter.mint(subject, JTI, IAT, EXP);
+
+        assertEquals(jjwtUtf8(subject, JTI, IAT, EXP), token);
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        assertTrue(payload.contains("\"sub\":\"" + subject + "\""), payload);
+        JwtParser parser = Jwts.parserBuilder().setSigningKey(key).setClock(() -> new Date(IAT * 1000)).build();
+        assertEquals(subject, parser.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Test
+    void testMint_VerifiedByJjwtParser() {
+        long now = System.currentTimeMillis() / 1000;
+        JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        Claims claims = parser.parseClaimsJws(minter.mint("juan@rodriguez.cl", JTI, now, now + 60)).getBody();
+
+        assertEquals("juan@rodriguez.cl", claims.getSubject());
+        assertEquals(JTI, claims.getId());
+        assertEquals(now, claims.getIssuedAt().getTime() / 1000);
+        assertEquals(now + 60, claims.getExpiration().getTime() / 1000);
+    }
+
+    @Test
+    void testMint_ReusesBuffersAcrossCalls() {
+        StringBuilder longSubject = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            longSubject.append("usuario");
+        }
+        longSubject.append("@bci.cl");
+
+        assertEquals(jjwt(longSubject.toString(), JTI, IAT, EXP), minter.mint(longSubject.toString(), JTI, IAT, EXP));
+        assertEquals(jjwt("a@b.cl", JTI, IAT, EXP), minter.mint("a@b.cl", JTI, IAT, EXP));
+    }
+
+    @Test
+    void testMint_ThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String subject = "usuario" + i + "@bci.cl";
+                results.add(executor.submit(() -> jjwt(subject, JTI, IAT, EXP).equals(minter.mint(subject, JTI, IAT, EXP))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsShortKey() {
+        SecretKey shortKey = new SecretKeySpec(new byte[32], "HmacSHA512");
+
+        assertThrows(IllegalArgumentException.class, () -> new JwtMinter(shortKey));
+    }
+
+    private String jjwt(String subject, String id, long issuedAt, long expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setId(id)
+                .setIssuedAt(new Date(issuedAt * 1000))
+                .setExpiration(new Date(expiresAt * 1000))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private String jjwtUtf8(String subject, String id, long issuedAt, long expiresAt) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return Jwts.builder()
+                .serializeToJsonWith(map -> {
+                    try {
+                        return objectMapper.writeValueAsString(map).getBytes(StandardCharsets.UTF_8);
+                    } catch (JsonProcessingException ex) {
+                        throw new SerializationException("No se pudo serializar", ex);
+                    }
+                })
+                .setSubject(subject)
+                .setId(id)
+                .setIssuedAt(new Date(issuedAt * 1000))
+                .setExpiration(new Date(expiresAt * 1000))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bci.userapi.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderFactoryTest {
+
+    private PasswordEncodingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordEncodingProperties();
+        properties.getBcrypt().setStrength(4);
+        properties.getPbkdf2().setIterations(1000);
+        properties.getScrypt().setCpuCost(1024);
+        properties.getArgon2().setMemory(1024);
+        properties.getArgon2().setIterations(1);
+    }
+
+    @Test
+    void testCreate_EncodesWithConfiguredAlgorithm() {
+        for (PasswordAlgorithm algorithm : PasswordAlgorithm.values()) {
+            properties.setAlgorithm(algorithm);
+            PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+
+            String hash = encoder.encode("hunter22");
+
+            assertTrue(hash.startsWith("{" + algorithm.getId() + "}"), hash);
+            assertTrue(encoder.matches("hunter22", hash));
+            assertFalse(encoder.matches("hunter23", hash));
+            assertFalse(encoder.upgradeEncoding(hash));
+        }
+    }
+
+    @Test
+    void testCreate_VerifiesHashesFromOtherAlgorithms() {
+        properties.setAlgorithm(PasswordAlgorithm.ARGON2);
+        String argon2Hash = PasswordEncoderFactory.create(properties).encode("hunter22");
+        properties.setAlgorithm(PasswordAlgorithm.BCRYPT);
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+
+        assertTrue(encoder.matches("hunter22", argon2Hash));
+        assertTrue(encoder.upgradeEncoding(argon2Hash));
+    }
+
+    @Test
+    void testCreate_VerifiesLegacyUnprefixedBcrypt() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("hunter22");
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+
+        assertTrue(encoder.matches("hunter22", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void testCreate_UpgradesWeakerParameters() {
+        String weakBcrypt = PasswordEncoderFactory.create(properties).encode("hunter22");
+        properties.getBcrypt().setStrength(5);
+        assertTrue(PasswordEncoderFactory.create(properties).upgradeEncoding(weakBcrypt));
+
+        properties.setAlgorithm(PasswordAlgorithm.ARGON2);
+        String weakArgon2 = PasswordEncoderFactory.create(properties).encode("hunter22");
+        properties.getArgon2().setIterations(2);
+        assertTrue(PasswordEncoderFactory.create(properties).upgradeEncoding(weakArgon2));
+    }
+}
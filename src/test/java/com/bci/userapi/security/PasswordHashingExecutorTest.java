@@ -0,0 +1,134 @@
+package com.bci.userapi.security;
+
+import com.bci.userapi.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordEncoder delegate;
+    private MeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(delegate, 1, 1, Duration.ofSeconds(3), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void testEncodeAndMatches_RunOnHashingThreads() {
+        when(delegate.encode("hunter22")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("hunter22", "hash")).thenReturn(true);
+
+        assertTrue(executor.encode("hunter22").startsWith("password-hashing-"));
+        assertTrue(executor.matches("hunter22", "hash"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("b"));
+        waitForQueue(1);
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> executor.encode("c"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEncodeAsync_FailsFutureWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        CompletableFuture<String> running = executor.encodeAsync("a");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = executor.encodeAsync("b");
+        CompletableFuture<String> rejected = executor.encodeAsync("c");
+
+        assertTrue(rejected.isCompletedExceptionally());
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(ex.getCause() instanceof PasswordHashingBusyException);
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testSubmit_PropagatesDelegateExceptions() {
+        when(delegate.encode(any())).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+
+        assertThrows(IllegalArgumentException.class, () -> executor.encode(null));
+    }
+
+    @Test
+    void testUpgradeEncoding_Delegates() {
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        assertTrue(executor.upgradeEncoding("hash"));
+    }
+
+    @Test
+    void testConstructor_InvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordHashingExecutor(delegate, 0, 1, Duration.ofSeconds(1), meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordHashingExecutor(delegate, 1, 0, Duration.ofSeconds(1), meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordHashingExecutor(delegate, 1, 1, Duration.ZERO, meterRegistry));
+    }
+
+    private void waitForQueue(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.queueSize() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, executor.queueSize());
+    }
+}
@@ -0,0 +1,233 @@
+package com.bci.userapi.security;
+
+import com.bci.userapi.entity.RevokedSubject;
+import com.bci.userapi.entity.RevokedToken;
+import com.bci.userapi.repository.RevokedSubjectRepository;
+import com.bci.userapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenDenylistTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    private RevokedTokenRepository repository;
+    private RevokedSubjectRepository subjectRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        subjectRepository = mock(RevokedSubjectRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(START);
+        denylist = new TokenDenylist(repository, subjectRepository, meterRegistry, Duration.ofMinutes(1), now::get);
+    }
+
+    @Test
+    void testRevoke_PersistsAndRejectsUntilExpiry() {
+        assertTrue(denylist.revoke("jti-1", START + 5 * MINUTE));
+
+        assertTrue(denylist.isRevoked("jti-1"));
+        assertFalse(denylist.isRevoked("jti-2"));
+        assertFalse(denylist.isRevoked(null));
+        verify(repository).save(new RevokedToken("jti-1", toLocalDateTime(START + 5 * MINUTE)));
+
+        now.set(START + 5 * MINUTE);
+        assertFalse(denylist.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testRevoke_IgnoresExpiredAndDuplicates() {
+        assertFalse(denylist.revoke("expired", START));
+        assertFalse(denylist.revoke(null, START + MINUTE));
+        assertTrue(denylist.revoke("jti-1", START + MINUTE));
+        assertFalse(denylist.revoke("jti-1", START + MINUTE));
+
+        verify(repository, times(1)).save(any(RevokedToken.class));
+        assertEquals(1, denylist.size());
+        assertEquals(1.0, meterRegistry.get("token.denylist.revoked").counter().count());
+    }
+
+    @Test
+    void testPurge_DropsOnlyElapsedBuckets() {
+        denylist.revoke("short", START + MINUTE + 1);
+        denylist.revoke("same-bucket", START + MINUTE + 2);
+        denylist.revoke("long", START + 10 * MINUTE);
+
+        assertEquals(0, denylist.purge());
+        assertEquals(3, denylist.size());
+
+        now.set(START + 3 * MINUTE);
+        assertEquals(2, denylist.purge());
+
+        assertEquals(1, denylist.size());
+        assertTrue(denylist.isRevoked("long"));
+        assertEquals(1.0, meterRegistry.get("token.denylist.size").gauge().value());
+        verify(repository, times(2)).deleteExpired(any(LocalDateTime.class));
+        verify(repository).deleteExpired(toLocalDateTime(START + 3 * MINUTE));
+    }
+
+    @Test
+    void testPurge_DatabaseFailureKeepsMemoryConsistent() {
+        denylist.revoke("jti-1", START + MINUTE);
+        now.set(START + 5 * MINUTE);
+        when(repository.deleteExpired(any(LocalDateTime.class))).thenThrow(new IllegalStateException("db"));
+
+        assertEquals(1, denylist.purge());
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void testLoad_RestoresPersistedEntries() {
+        when(repository.findByExpiresAtAfter(toLocalDateTime(START))).thenReturn(Arrays.asList(
+                new RevokedToken("persisted", toLocalDateTime(START + 2 * MINUTE)),
+                new RevokedToken("other", toLocalDateTime(START + 4 * MINUTE))));
+
+        denylist.load();
+
+        assertTrue(denylist.isRevoked("persisted"));
+        assertTrue(denylist.isRevoked("other"));
+        verify(repository, never()).save(any(RevokedToken.class));
+
+        now.set(START + 3 * MINUTE);
+        denylist.purge();
+        assertFalse(denylist.isRevoked("persisted"));
+        assertTrue(denylist.isRevoked("other"));
+    }
+
+    @Test
+    void testRevokeSubject_RejectsTokensIssuedUntilWatermark() {
+        long issuedUntil = START / 1000;
+        assertTrue(denylist.revokeSubject("juan@rodriguez.cl", issuedUntil, START + 5 * MINUTE));
+
+        assertTrue(denylist.isRevoked("jti-1", "juan@rodriguez.cl", issuedUntil - 60));
+        assertTrue(denylist.isRevoked("jti-1", "juan@rodriguez.cl", issuedUntil));
+        assertTrue(denylist.isRevoked("jti-1", "juan@rodriguez.cl", null));
+        assertFalse(denylist.isRevoked("jti-1", "juan@rodriguez.cl", issuedUntil + 1));
+        assertFalse(denylist.isRevoked("jti-1", "ana@rodriguez.cl", issuedUntil));
+        assertFalse(denylist.isRevoked("jti-1"));
+        verify(subjectRepository).save(new RevokedSubject("juan@rodriguez.cl", issuedUntil, toLocalDateTime(START + 5 * MINUTE)));
+
+        now.set(START + 5 * MINUTE);
+        assertFalse(denylist.isRevoked("jti-1", "juan@rodriguez.cl", issuedUntil));
+        assertEquals(Long.MIN_VALUE, denylist.issuedUntil("juan@rodriguez.cl"));
+    }
+
+    @Test
+    void testRevokeSubject_WatermarkNeverMovesBack() {
+        denylist.revokeSubject("juan@rodriguez.cl", 200, START + 5 * MINUTE);
+        denylist.revokeSubject("juan@rodriguez.cl", 100, START + MINUTE);
+
+        assertEquals(200, denylist.issuedUntil("juan@rodriguez.cl"));
+        verify(subjectRepository, times(2)).save(new RevokedSubject("juan@rodriguez.cl", 200, toLocalDateTime(START + 5 * MINUTE)));
+        assertFalse(denylist.revokeSubject("juan@rodriguez.cl", 300, START));
+        assertFalse(denylist.revokeSubject(null, 300, START + MINUTE));
+    }
+
+    @Test
+    void testPurge_DropsExpiredSubjects() {
+        denylist.revokeSubject("short@bci.cl", 100, START + MINUTE);
+        denylist.revokeSubject("long@bci.cl", 100, START + 10 * MINUTE);
+
+        now.set(START + 3 * MINUTE);
+        assertEquals(1, denylist.purge());
+
+        assertEquals(Long.MIN_VALUE, denylist.issuedUntil("short@bci.cl"));
+        assertEquals(100, denylist.issuedUntil("long@bci.cl"));
+        assertEquals(1.0, meterRegistry.get("token.denylist.subjects").gauge().value());
+        verify(subjectRepository).deleteExpired(toLocalDateTime(START + 3 * MINUTE));
+    }
+
+    @Test
+    void testPurge_KeepsSubjectWhoseWatermarkWasExtended() {
+        denylist.revokeSubject("juan@rodriguez.cl", 100, START + MINUTE);
+        denylist.revokeSubject("juan@rodriguez.cl", 200, START + 10 * MINUTE);
+
+        now.set(START + 3 * MINUTE);
+        assertEquals(0, denylist.purge());
+        assertEquals(200, denylist.issuedUntil("juan@rodriguez.cl"));
+
+        now.set(START + 11 * MINUTE);
+        assertEquals(1, denylist.purge());
+        assertEquals(0.0, meterRegistry.get("token.denylist.subjects").gauge().value());
+    }
+
+    @Test
+    void testRevoke_AppliedToMemoryOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertTrue(denylist.revoke("jti-1", START + 5 * MINUTE));
+            assertTrue(denylist.revokeSubject("juan@rodriguez.cl", 100, START + 5 * MINUTE));
+
+            assertFalse(denylist.isRevoked("jti-1"));
+            assertEquals(Long.MIN_VALUE, denylist.issuedUntil("juan@rodriguez.cl"));
+            verify(repository).save(new RevokedToken("jti-1", toLocalDateTime(START + 5 * MINUTE)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(denylist.isRevoked("jti-1"));
+        assertEquals(100, denylist.issuedUntil("juan@rodriguez.cl"));
+        assertEquals(2.0, meterRegistry.get("token.denylist.revoked").counter().count());
+    }
+
+    @Test
+    void testRevoke_RolledBackRevocationNeverReachesMemory() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            denylist.revoke("jti-1", START + 5 * MINUTE);
+            denylist.revokeSubject("juan@rodriguez.cl", 100, START + 5 * MINUTE);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(denylist.isRevoked("jti-1"));
+        assertEquals(Long.MIN_VALUE, denylist.issuedUntil("juan@rodriguez.cl"));
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void testLoad_RestoresPersistedSubjects() {
+        when(subjectRepository.findByExpiresAtAfter(toLocalDateTime(START))).thenReturn(Arrays.asList(
+                new RevokedSubject("juan@rodriguez.cl", 100, toLocalDateTime(START + 2 * MINUTE))));
+
+        denylist.load();
+
+        assertTrue(denylist.isRevoked("jti-1", "juan@rodriguez.cl", 100L));
+        verify(subjectRepository, never()).save(any(RevokedSubject.class));
+    }
+
+    @Test
+    void testConstructor_RejectsZeroBucketWidth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenDenylist(repository, subjectRepository, meterRegistry, Duration.ZERO, now::get));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -1,5 +1,12 @@
 package com.bci.userapi.service;
 
+import com.bci.userapi.entity.RevokedSubject;
+import com.bci.userapi.entity.RevokedToken;
+import com.bci.userapi.repository.RevokedSubjectRepository;
+import com.bci.userapi.repository.RevokedTokenRepository;
+import com.bci.userapi.security.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
@@ -10,26 +17,36 @@ import org.junit.jupiter.api.Test;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class JWTServiceTest {
 
     private JWTService jwtService;
+    private RevokedTokenRepository revokedTokenRepository;
+    private RevokedSubjectRepository revokedSubjectRepository;
+    private TokenDenylist tokenDenylist;
 
     @BeforeEach
     void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revokedSubjectRepository = mock(RevokedSubjectRepository.class);
+        tokenDenylist = new TokenDenylist(revokedTokenRepository, revokedSubjectRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1));
         jwtService = new JWTService(
                 "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity",
-                86400000L
+                86400000L,
+                10000L, tokenDenylist
         );
     }
 
     @Test
     void testConstructor_WithNullSecret() {
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
-            new JWTService(null, 86400000L);
+            new JWTService(null, 86400000L, 10000L, tokenDenylist);
         });
         assertTrue(ex.getCause() instanceof IllegalArgumentException);
         assertTrue(ex.getMessage().contains("Error al inicializar JWTService"));
@@ -38,7 +55,7 @@ class JWTServiceTest {
     @Test
     void testConstructor_WithEmptySecret() {
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
-            new JWTService("", 86400000L);
+            new JWTService("", 86400000L, 10000L, tokenDenylist);
         });
         assertTrue(ex.getCause() instanceof IllegalArgumentException);
         assertTrue(ex.getMessage().contains("Error al inicializar JWTService"));
@@ -47,7 +64,7 @@ class JWTServiceTest {
     @Test
     void testConstructor_WithWhitespaceSecret() {
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
-            new JWTService("   ", 86400000L);
+            new JWTService("   ", 86400000L, 10000L, tokenDenylist);
         });
         assertTrue(ex.getCause() instanceof IllegalArgumentException);
         assertTrue(ex.getMessage().contains("Error al inicializar JWTService"));
@@ -56,7 +73,7 @@ class JWTServiceTest {
     @Test
     void testConstructor_WithWeakKey() {
         assertThrows(IllegalArgumentException.class, () -> {
-            new JWTService("short", 86400000L);
+            new JWTService("short", 86400000L, 10000L, tokenDenylist);
         });
     }
 
@@ -203,5 +220,176 @@ class JWTServiceTest {
             jwtService.getEmailFromToken("malformed.token.here");
         });
     }
-}
 
+    @Test
+    void testValidateToken_CachesVerifiedToken() {
+        String token = jwtService.generateToken("test@example.cl");
+
+        assertTrue(jwtService.validateToken(token));
+        assertEquals("test@example.cl", jwtService.getEmailFromToken(token));
+        assertTrue(jwtService.validateToken(token));
+
+        assertEquals(1, jwtService.verifiedTokenCount());
+    }
+
+    @Test
+    void testValidateToken_DoesNotCacheRejectedTokens() {
+        String token = jwtService.generateToken("test@example.cl");
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertFalse(jwtService.validateToken(tampered));
+        assertFalse(jwtService.validateToken("invalid.token.here"));
+
+        assertEquals(0, jwtService.verifiedTokenCount());
+        assertTrue(jwtService.validateToken(token));
+        assertFalse(jwtService.validateToken(tampered));
+    }
+
+    @Test
+    void testValidateToken_CachedTokenExpires() throws Exception {
+        JWTService shortLived = new JWTService(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity",
+                1500L, 10000L, tokenDenylist);
+        String token = shortLived.generateToken("test@example.cl");
+        assertTrue(shortLived.validateToken(token));
+
+        Thread.sleep(2000);
+
+        assertFalse(shortLived.validateToken(token));
+        assertEquals(0, shortLived.verifiedTokenCount());
+    }
+
+    @Test
+    void testValidateToken_CacheDisabled() {
+        JWTService uncached = new JWTService(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity",
+                86400000L, 0L, tokenDenylist);
+        String token = uncached.generateToken("test@example.cl");
+
+        assertTrue(uncached.validateToken(token));
+        assertEquals("test@example.cl", uncached.getEmailFromToken(token));
+        assertEquals(0, uncached.verifiedTokenCount());
+    }
+
+    @Test
+    void testConstructor_WithNegativeCacheSize() {
+        assertThrows(RuntimeException.class, () -> new JWTService(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity",
+                86400000L, -1L, tokenDenylist));
+    }
+
+    @Test
+    void testParseClaims_ValidToken() {
+        String token = jwtService.generateToken("test@example.cl");
+
+        Claims claims = jwtService.parseClaims(token).orElseThrow(AssertionError::new);
+
+        assertEquals("test@example.cl", claims.getSubject());
+        assertNotNull(claims.getExpiration());
+        assertSame(claims, jwtService.parseClaims(token).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void testParseClaims_InvalidToken() {
+        assertFalse(jwtService.parseClaims(null).isPresent());
+        assertFalse(jwtService.parseClaims("  ").isPresent());
+        assertFalse(jwtService.parseClaims("invalid.token.here").isPresent());
+    }
+
+    @Test
+    void testGenerateToken_UniqueJti() {
+        Claims first = jwtService.parseClaims(jwtService.generateToken("test@example.cl")).orElseThrow(AssertionError::new);
+        Claims second = jwtService.parseClaims(jwtService.generateToken("test@example.cl")).orElseThrow(AssertionError::new);
+
+        assertNotNull(first.getId());
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void testRevokeToken_RejectsCachedToken() {
+        String token = jwtService.generateToken("test@example.cl");
+        String other = jwtService.generateToken("test@example.cl");
+        assertTrue(jwtService.validateToken(token));
+
+        assertTrue(jwtService.revokeToken(token));
+
+        assertFalse(jwtService.validateToken(token));
+        assertFalse(jwtService.parseClaims(token).isPresent());
+        assertThrows(RuntimeException.class, () -> jwtService.getEmailFromToken(token));
+        assertTrue(jwtService.validateToken(other));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevokeToken_InvalidOrAlreadyRevoked() {
+        String token = jwtService.generateToken("test@example.cl");
+
+        assertFalse(jwtService.revokeToken("invalid.token.here"));
+        assertFalse(jwtService.revokeToken(null));
+        assertTrue(jwtService.revokeToken(token));
+        assertFalse(jwtService.revokeToken(token));
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevokeToken_WithoutJti() {
+        SecretKey key = Keys.hmacShaKeyFor(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity"
+                        .getBytes(StandardCharsets.UTF_8));
+        String legacy = Jwts.builder()
+                .setSubject("test@example.cl")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+
+        assertFalse(jwtService.revokeToken(legacy));
+        assertTrue(jwtService.validateToken(legacy));
+    }
+
+    @Test
+    void testRevokeAllTokens_RejectsEveryEarlierTokenOfSubject() {
+        String first = jwtService.generateToken("test@example.cl");
+        String second = jwtService.generateToken("test@example.cl");
+        String otherUser = jwtService.generateToken("otro@example.cl");
+        assertTrue(jwtService.validateToken(first));
+
+        assertTrue(jwtService.revokeAllTokens("test@example.cl"));
+
+        assertFalse(jwtService.validateToken(first));
+        assertFalse(jwtService.validateToken(second));
+        assertTrue(jwtService.validateToken(otherUser));
+        verify(revokedSubjectRepository).save(any(RevokedSubject.class));
+        verify(revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevokeAllTokens_TokensIssuedAfterwardsInSameSecondStayValid() {
+        String before = jwtService.generateToken("test@example.cl");
+        jwtService.revokeAllTokens("test@example.cl");
+
+        String after = jwtService.generateToken("test@example.cl");
+
+        assertFalse(jwtService.validateToken(before));
+        assertTrue(jwtService.validateToken(after));
+
+        jwtService.revokeAllTokens("test@example.cl");
+        assertFalse(jwtService.validateToken(after));
+        assertTrue(jwtService.validateToken(jwtService.generateToken("test@example.cl")));
+    }
+
+    @Test
+    void testRevokeAllTokens_RejectsTokensWithoutIssuedAt() {
+        SecretKey key = Keys.hmacShaKeyFor(
+                "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast512BitsLongForHS512AlgorithmSecurity"
+                        .getBytes(StandardCharsets.UTF_8));
+        String legacy = Jwts.builder()
+                .setSubject("test@example.cl")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+
+        jwtService.revokeAllTokens("test@example.cl");
+
+        assertFalse(jwtService.validateToken(legacy));
+    }
+}
@@ -0,0 +1,304 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.bloom.EmailBloomFilter;
+import com.bci.userapi.breach.BreachedHashFile;
+import com.bci.userapi.dto.PhoneDTO;
+import com.bci.userapi.dto.UserBatchResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.dto.UserResponseDTO;
+import com.bci.userapi.entity.User;
+import com.bci.userapi.exception.PasswordHashingBusyException;
+import com.bci.userapi.factory.UserFactory;
+import com.bci.userapi.mapper.IUserMapper;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.security.PasswordHashingExecutor;
+import com.bci.userapi.validator.BreachedPasswordValidator;
+import com.bci.userapi.validator.EmailDuplicationValidator;
+import com.bci.userapi.validator.EmailUniquenessCheck;
+import com.bci.userapi.validator.EmailValidator;
+import com.bci.userapi.validator.PasswordValidator;
+import com.bci.userapi.validator.UserRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserFactory userFactory;
+
+    @Mock
+    private IUserMapper userMapper;
+
+    @Mock
+    private IJWTService jwtService;
+
+    @Mock
+    private EmailDuplicationValidator emailDuplicationValidator;
+
+    private UserRequestValidator userRequestValidator;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private UserBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        userRequestValidator = new UserRequestValidator(
+                new EmailValidator("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.cl$"),
+                new PasswordValidator("^[a-zA-Z0-9]{8,}$"),
+                new BreachedPasswordValidator("", BreachedHashFile.SHA1_BYTES, new SimpleMeterRegistry()),
+                emailDuplicationValidator,
+                new SimpleMeterRegistry(),
+                EmailUniquenessCheck.QUERY);
+        batchService = new UserBatchService(userRepository, userFactory, userMapper, jwtService, passwordHashingExecutor,
+                userRequestValidator, emailBloomFilter, transactionManager, 3);
+        lenient().when(passwordHashingExecutor.threads()).thenReturn(2);
+        lenient().when(passwordHashingExecutor.encodeAsync(any())).thenReturn(CompletableFuture.completedFuture("hash"));
+    }
+
+    @Test
+    void testCreateUsers_AllCreated() {
+        List<UserRequestDTO> requests = Arrays.asList(buildRequest("juan@rodriguez.cl"), buildRequest("maria@garcia.cl"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> new User());
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(new UserResponseDTO());
+
+        UserBatchResponseDTO result = batchService.createUsers(requests);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertTrue(result.getResults().get(1).isSuccess());
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, times(1)).flush();
+        verify(emailBloomFilter, times(2)).add(any());
+        InOrder inOrder = inOrder(passwordHashingExecutor, userFactory, transactionManager, userRepository);
+        inOrder.verify(passwordHashingExecutor, times(2)).encodeAsync("hunter22");
+        inOrder.verify(userFactory, times(2)).createUser(any(UserRequestDTO.class), anyString(), anyString());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).saveAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testCreateUsers_EmailConstraintViolationFallsBackPerItem() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setEmail(invocation.<UserRequestDTO>getArgument(0).getEmail());
+            user.setToken(invocation.getArgument(1));
+            user.setPassword(invocation.getArgument(2));
+            return user;
+        });
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(emailViolation()).when(userRepository).flush();
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if ("maria@garcia.cl".equals(user.getEmail())) {
+                throw emailViolation();
+            }
+            return user;
+        });
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(new UserResponseDTO());
+
+        UserBatchResponseDTO result = batchService.createUsers(
+                Arrays.asList(buildRequest("juan@rodriguez.cl"), buildRequest("maria@garcia.cl")));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals("El correo ya registrado", result.getResults().get(1).getMensaje());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(passwordHashingExecutor, times(2)).encodeAsync(any());
+        verify(jwtService, times(2)).generateToken(anyString());
+        verify(userFactory, times(4)).createUser(any(UserRequestDTO.class), eq("token"), eq("hash"));
+        verify(emailBloomFilter).add("juan@rodriguez.cl");
+        verifyNoMoreInteractions(emailBloomFilter);
+    }
+
+    @Test
+    void testCreateUsers_HashingBusyReportedPerItem() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(passwordHashingExecutor.encodeAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture("hash"))
+                .thenReturn(busy());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> new User());
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(new UserResponseDTO());
+
+        UserBatchResponseDTO result = batchService.createUsers(
+                Arrays.asList(buildRequest("juan@rodriguez.cl"), buildRequest("maria@garcia.cl")));
+
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Demasiadas solicitudes", result.getResults().get(1).getMensaje());
+        verify(jwtService, times(1)).generateToken("juan@rodriguez.cl");
+    }
+
+    @Test
+    void testCreateUsers_HashingBusyForEveryItem() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(passwordHashingExecutor.encodeAsync(any())).thenReturn(busy());
+
+        assertThrows(PasswordHashingBusyException.class, () ->
+                batchService.createUsers(Collections.singletonList(buildRequest("juan@rodriguez.cl"))));
+        verifyNoInteractions(transactionManager, jwtService);
+    }
+
+    @Test
+    void testCreateUsers_ReportsErrorsPerItem() {
+        UserRequestDTO valid = buildRequest("juan@rodriguez.cl");
+        UserRequestDTO invalidEmail = buildRequest("juan@rodriguez.com");
+        UserRequestDTO existing = buildRequest("maria@garcia.cl");
+        UserRequestDTO missingName = buildRequest("pedro@soto.cl");
+        missingName.setName("");
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(new HashSet<>(Collections.singletonList("maria@garcia.cl")));
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> new User());
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        UserResponseDTO created = new UserResponseDTO();
+        created.setId(UUID.randomUUID());
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(created);
+
+        batchService = new UserBatchService(userRepository, userFactory, userMapper, jwtService, passwordHashingExecutor,
+                userRequestValidator, emailBloomFilter, transactionManager, 10);
+        UserBatchResponseDTO result = batchService.createUsers(Arrays.asList(valid, invalidEmail, existing, missingName));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertEquals(4, result.getResults().size());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals(created.getId(), result.getResults().get(0).getUser().getId());
+        assertEquals("El formato del correo no es válido", result.getResults().get(1).getMensaje());
+        assertEquals("El correo ya registrado", result.getResults().get(2).getMensaje());
+        assertEquals("El nombre es requerido", result.getResults().get(3).getMensaje());
+        assertEquals(3, result.getResults().get(3).getIndex());
+        verify(userFactory, times(1)).createUser(any(UserRequestDTO.class), anyString(), anyString());
+    }
+
+    @Test
+    void testCreateUsers_DuplicatedEmailInBatch() {
+        List<UserRequestDTO> requests = Arrays.asList(buildRequest("juan@rodriguez.cl"), buildRequest("juan@rodriguez.cl"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> new User());
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(new UserResponseDTO());
+
+        UserBatchResponseDTO result = batchService.createUsers(requests);
+
+        assertEquals(1, result.getCreated());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals("El correo está repetido en el lote", result.getResults().get(1).getMensaje());
+    }
+
+    @Test
+    void testCreateUsers_InvalidPassword() {
+        UserRequestDTO request = buildRequest("juan@rodriguez.cl");
+        request.setPassword("hunter2");
+
+        UserBatchResponseDTO result = batchService.createUsers(Collections.singletonList(request));
+
+        assertEquals(0, result.getCreated());
+        assertEquals("El formato de la contraseña no es válido", result.getResults().get(0).getMensaje());
+        verify(userRepository, never()).findExistingEmails(anyCollection());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testCreateUsers_EmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.createUsers(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.createUsers(null));
+    }
+
+    @Test
+    void testCreateUsers_BatchTooLarge() {
+        List<UserRequestDTO> requests = Arrays.asList(buildRequest("a@a.cl"), buildRequest("b@b.cl"),
+                buildRequest("c@c.cl"), buildRequest("d@d.cl"));
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.createUsers(requests));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testCreateUsers_GenericException() {
+        when(userRepository.findExistingEmails(anyCollection())).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(RuntimeException.class, () ->
+                batchService.createUsers(Collections.singletonList(buildRequest("juan@rodriguez.cl"))));
+    }
+
+    private UserRequestDTO buildRequest(String email) {
+        PhoneDTO phone = new PhoneDTO("1234567", "1", "57");
+        List<PhoneDTO> phones = new ArrayList<>();
+        phones.add(phone);
+        return new UserRequestDTO("Juan Rodriguez", email, "hunter22", phones);
+    }
+
+    @Test
+    void testCreateUsers_NeverQueriesPerItemDuplicates() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(new HashSet<>());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString(), anyString())).thenAnswer(invocation -> new User());
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toResponseDTO(any(User.class))).thenReturn(new UserResponseDTO());
+
+        batchService.createUsers(Arrays.asList(buildRequest("juan@rodriguez.cl"), buildRequest("maria@garcia.cl")));
+
+        verifyNoInteractions(emailDuplicationValidator);
+    }
+
+    private static DataIntegrityViolationException emailViolation() {
+        return new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), User.EMAIL_CONSTRAINT));
+    }
+
+    private static CompletableFuture<String> busy() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new PasswordHashingBusyException("Demasiadas solicitudes", 1));
+        return future;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.mapper.UserMapper;
+import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new UserExportService(userRepository, new UserMapper(), new ObjectMapper().findAndRegisterModules(), 2);
+    }
+
+    @Test
+    void testExportUsers_WritesOneLinePerUser() {
+        when(userRepository.streamAllListViews(2)).thenReturn(Stream.of(
+                buildUser("Juan Rodriguez"), buildUser("Maria Garcia"), buildUser("Pedro Soto")));
+        when(userRepository.findPhonesByUserIds(anyCollection())).thenAnswer(invocation -> phonesOf(invocation.getArgument(0)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = exportService.exportUsers(outputStream);
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Juan Rodriguez\""));
+        assertTrue(lines[0].contains("\"number\":\"1234567\""));
+        assertTrue(lines[2].contains("\"name\":\"Pedro Soto\""));
+    }
+
+    @Test
+    void testExportUsers_OnePhonesQueryPerChunk() {
+        when(userRepository.streamAllListViews(2)).thenReturn(Stream.of(
+                buildUser("a"), buildUser("b"), buildUser("c"), buildUser("d"), buildUser("e")));
+        when(userRepository.findPhonesByUserIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        exportService.exportUsers(new ByteArrayOutputStream());
+
+        verify(userRepository, times(3)).findPhonesByUserIds(anyCollection());
+    }
+
+    @Test
+    void testExportUsers_EmptyTable() {
+        when(userRepository.streamAllListViews(2)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = exportService.exportUsers(outputStream);
+
+        assertEquals(0, exported);
+        assertEquals(0, outputStream.size());
+        verify(userRepository, never()).findPhonesByUserIds(anyCollection());
+    }
+
+    @Test
+    void testExportUsers_WriteError() {
+        when(userRepository.streamAllListViews(2)).thenReturn(Stream.of(buildUser("a")));
+        when(userRepository.findPhonesByUserIds(anyCollection())).thenReturn(Collections.emptyList());
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(RuntimeException.class, () -> exportService.exportUsers(failing));
+    }
+
+    @Test
+    void testConstructor_InvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new UserExportService(userRepository, new UserMapper(), new ObjectMapper(), 0));
+    }
+
+    private UserListView buildUser(String name) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        return new UserListView(UUID.randomUUID(), name, name.replace(' ', '.') + "@bci.cl", now, now, true, now);
+    }
+
+    private List<PhoneView> phonesOf(Collection<UUID> userIds) {
+        return userIds.stream()
+                .map(id -> new PhoneView(id, "1234567", "1", "57"))
+                .collect(Collectors.toList());
+    }
+}
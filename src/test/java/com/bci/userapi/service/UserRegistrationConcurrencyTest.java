@@ -0,0 +1,115 @@
+package com.bci.userapi.service;
+
+import com.bci.userapi.dto.PhoneDTO;
+import com.bci.userapi.dto.UserBatchResponseDTO;
+import com.bci.userapi.dto.UserRequestDTO;
+import com.bci.userapi.exception.EmailAlreadyExistsException;
+import com.bci.userapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class UserRegistrationConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IUserBatchService userBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateUser_ParallelDuplicatesCreateExactlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.createUser(request("carrera@bci.cl"));
+                        created.incrementAndGet();
+                    } catch (EmailAlreadyExistsException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertTrue(userRepository.findByEmail("carrera@bci.cl").isPresent());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void testCreateUsers_ParallelBatchesReportSharedEmailPerItem() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserBatchResponseDTO>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                List<UserRequestDTO> batch = Arrays.asList(request("lote" + i + "@bci.cl"), request("compartido@bci.cl"));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userBatchService.createUsers(batch);
+                }));
+            }
+            start.countDown();
+            int sharedCreated = 0;
+            for (Future<UserBatchResponseDTO> future : futures) {
+                UserBatchResponseDTO response = future.get(60, TimeUnit.SECONDS);
+                assertTrue(response.getResults().get(0).isSuccess());
+                if (response.getResults().get(1).isSuccess()) {
+                    sharedCreated++;
+                } else {
+                    assertEquals("El correo ya registrado", response.getResults().get(1).getMensaje());
+                }
+            }
+            assertEquals(1, sharedCreated);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS + 1, userRepository.count());
+    }
+
+    private static UserRequestDTO request(String email) {
+        return new UserRequestDTO("Usuario Concurrente", email, "clave1234",
+                Collections.singletonList(new PhoneDTO("1234567", "1", "56")));
+    }
+}
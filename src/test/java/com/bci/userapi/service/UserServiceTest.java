@@ -1,30 +1,47 @@
 package com.bci.userapi.service;
 
+import com.bci.userapi.activity.LastLoginRecorder;
+import com.bci.userapi.bloom.EmailBloomFilter;
+import com.bci.userapi.cache.UserEntityCache;
 import com.bci.userapi.dto.ChangePasswordRequestDTO;
 import com.bci.userapi.dto.ChangePasswordResponseDTO;
 import com.bci.userapi.dto.DeleteUserResponseDTO;
+import com.bci.userapi.dto.LoginRequestDTO;
+import com.bci.userapi.dto.LogoutResponseDTO;
 import com.bci.userapi.dto.PhoneDTO;
 import com.bci.userapi.dto.UserDetailResponseDTO;
 import com.bci.userapi.dto.UserListResponseDTO;
+import com.bci.userapi.dto.UserPageResponseDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.dto.UserResponseDTO;
 import com.bci.userapi.dto.UserUpdateRequestDTO;
 import com.bci.userapi.dto.UserUpdateResponseDTO;
-import com.bci.userapi.entity.Phone;
 import com.bci.userapi.entity.User;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
+import com.bci.userapi.exception.InvalidCredentialsException;
 import com.bci.userapi.exception.InvalidEmailFormatException;
 import com.bci.userapi.exception.InvalidPasswordFormatException;
+import com.bci.userapi.exception.PasswordHashingBusyException;
 import com.bci.userapi.exception.PasswordMismatchException;
 import com.bci.userapi.exception.UserNotFoundException;
 import com.bci.userapi.factory.UserFactory;
 import com.bci.userapi.mapper.IUserMapper;
+import com.bci.userapi.pagination.PageSizePolicy;
+import com.bci.userapi.pagination.UserCursor;
 import com.bci.userapi.repository.UserRepository;
+import com.bci.userapi.repository.projection.PhoneView;
+import com.bci.userapi.repository.projection.UserListView;
 import com.bci.userapi.validator.ChangePasswordRequestValidator;
 import com.bci.userapi.validator.EmailDuplicationValidator;
 import com.bci.userapi.validator.UserRequestValidator;
 import com.bci.userapi.validator.UserUpdateRequestValidator;
+import com.bci.userapi.version.ResourceVersion;
+import com.bci.userapi.version.Versioned;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +49,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,6 +59,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,6 +93,18 @@ class UserServiceTest {
     @Mock
     private ChangePasswordRequestValidator changePasswordValidator;
 
+    @Mock
+    private PageSizePolicy pageSizePolicy;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private UserEntityCache userEntityCache;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
     @InjectMocks
     private UserService userService;
 
@@ -98,6 +130,7 @@ class UserServiceTest {
         user.setId(UUID.randomUUID());
         user.setName("Juan Rodriguez");
         user.setEmail("juan@rodriguez.cl");
+        user.setModified(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000));
 
         userResponse = new UserResponseDTO();
         userResponse.setId(user.getId());
@@ -110,7 +143,7 @@ class UserServiceTest {
         doNothing().when(validator).validate(any(UserRequestDTO.class));
         when(jwtService.generateToken(anyString())).thenReturn("test-token");
         when(userFactory.createUser(any(UserRequestDTO.class), anyString())).thenReturn(user);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
         when(userMapper.toResponseDTO(any(User.class))).thenReturn(userResponse);
 
         UserResponseDTO result = userService.createUser(userRequest);
@@ -119,7 +152,38 @@ class UserServiceTest {
         assertEquals(user.getId(), result.getId());
         assertNotNull(result.getToken());
         verify(validator, times(1)).validate(userRequest);
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(emailBloomFilter, times(1)).add(user.getEmail());
+    }
+
+    @Test
+    void testCreateUser_EmailConstraintViolation() {
+        doNothing().when(validator).validate(any(UserRequestDTO.class));
+        when(jwtService.generateToken(anyString())).thenReturn("test-token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString())).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException(),
+                        "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)")));
+
+        EmailAlreadyExistsException ex = assertThrows(EmailAlreadyExistsException.class,
+                () -> userService.createUser(userRequest));
+
+        assertEquals("El correo ya registrado", ex.getMessage());
+        verify(emailBloomFilter, never()).add(anyString());
+    }
+
+    @Test
+    void testCreateUser_OtherConstraintViolation() {
+        doNothing().when(validator).validate(any(UserRequestDTO.class));
+        when(jwtService.generateToken(anyString())).thenReturn("test-token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString())).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("nulo",
+                new ConstraintViolationException("nulo", new SQLException(), null)));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> userService.createUser(userRequest));
+
+        assertFalse(ex instanceof EmailAlreadyExistsException);
+        assertTrue(ex.getCause() instanceof DataIntegrityViolationException);
     }
 
     @Test
@@ -169,20 +233,36 @@ class UserServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(userMapper.toDetailResponseDTO(user)).thenReturn(detailResponse);
 
-        UserDetailResponseDTO result = userService.getUserById(userId);
+        Versioned<UserDetailResponseDTO> result = userService.getUserById(userId, version -> false);
 
-        assertNotNull(result);
-        assertEquals(userId, result.getId());
+        assertTrue(result.isModified());
+        assertEquals(userId, result.getBody().getId());
+        assertEquals(ResourceVersion.of(user.getModified()).getEtag(), result.getVersion().getEtag());
         verify(userRepository, times(1)).findById(userId);
     }
 
+    @Test
+    void testGetUserById_UnchangedSkipsMapping() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        String etag = ResourceVersion.of(user.getModified()).getEtag();
+
+        Versioned<UserDetailResponseDTO> result = userService.getUserById(userId,
+                version -> version.getEtag().equals(etag));
+
+        assertFalse(result.isModified());
+        assertNull(result.getBody());
+        assertEquals(etag, result.getVersion().getEtag());
+        verifyNoInteractions(userMapper);
+    }
+
     @Test
     void testGetUserById_UserNotFound() {
         UUID userId = UUID.randomUUID();
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.getUserById(userId);
+            userService.getUserById(userId, version -> false);
         });
 
         verify(userRepository, times(1)).findById(userId);
@@ -191,39 +271,108 @@ class UserServiceTest {
 
     @Test
     void testGetAllUsers_Success() {
-        User user2 = new User();
-        user2.setId(UUID.randomUUID());
-        user2.setName("Maria Garcia");
-        user2.setEmail("maria@garcia.cl");
-
-        UserListResponseDTO listResponse1 = new UserListResponseDTO();
-        listResponse1.setId(user.getId());
-        listResponse1.setName("Juan Rodriguez");
-
-        UserListResponseDTO listResponse2 = new UserListResponseDTO();
-        listResponse2.setId(user2.getId());
-        listResponse2.setName("Maria Garcia");
+        UserListView view1 = buildListView(user.getId(), LocalDateTime.of(2024, 1, 15, 10, 30));
+        UserListView view2 = buildListView(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 10, 31));
+        List<UserListView> views = Arrays.asList(view1, view2);
+        List<PhoneView> phones = Arrays.asList(new PhoneView(user.getId(), "1234567", "1", "57"));
+        List<UserListResponseDTO> dtos = Arrays.asList(new UserListResponseDTO(), new UserListResponseDTO());
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user, user2));
-        when(userMapper.toListResponseDTO(user)).thenReturn(listResponse1);
-        when(userMapper.toListResponseDTO(user2)).thenReturn(listResponse2);
+        when(pageSizePolicy.resolve(null)).thenReturn(20);
+        when(userRepository.findFirstPage(any(Pageable.class))).thenReturn(views);
+        when(userRepository.findPhonesByUserIds(Arrays.asList(view1.getId(), view2.getId()))).thenReturn(phones);
+        when(userMapper.toListResponseDTOList(views, phones)).thenReturn(dtos);
 
-        List<UserListResponseDTO> result = userService.getAllUsers();
+        UserPageResponseDTO result = userService.getAllUsers(userService.getUserPage(null, null));
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(2, result.getUsers().size());
+        assertNull(result.getNext());
+        verify(userRepository, times(1)).findFirstPage(PageRequest.of(0, 21));
+        verify(userRepository, never()).findAll();
     }
 
     @Test
     void testGetAllUsers_EmptyList() {
-        when(userRepository.findAll()).thenReturn(new ArrayList<>());
+        when(pageSizePolicy.resolve(null)).thenReturn(20);
+        when(userRepository.findFirstPage(any(Pageable.class))).thenReturn(new ArrayList<>());
+        when(userMapper.toListResponseDTOList(anyList(), anyList())).thenReturn(new ArrayList<>());
 
-        List<UserListResponseDTO> result = userService.getAllUsers();
+        UserPageResponseDTO result = userService.getAllUsers(userService.getUserPage(null, null));
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).findAll();
+        assertTrue(result.getUsers().isEmpty());
+        assertNull(result.getNext());
+        verify(userRepository, never()).findPhonesByUserIds(anyList());
+    }
+
+    @Test
+    void testGetAllUsers_HasNextPage() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 10, 30);
+        UserListView view1 = buildListView(user.getId(), created);
+        UserListView view2 = buildListView(UUID.randomUUID(), created.plusSeconds(1));
+
+        when(pageSizePolicy.resolve(1)).thenReturn(1);
+        when(userRepository.findFirstPage(any(Pageable.class))).thenReturn(Arrays.asList(view1, view2));
+        when(userRepository.findPhonesByUserIds(Arrays.asList(view1.getId()))).thenReturn(new ArrayList<>());
+        when(userMapper.toListResponseDTOList(Arrays.asList(view1), new ArrayList<>()))
+                .thenReturn(Arrays.asList(new UserListResponseDTO()));
+
+        UserPageResponseDTO result = userService.getAllUsers(userService.getUserPage(null, 1));
+
+        assertEquals(1, result.getUsers().size());
+        UserCursor next = UserCursor.decode(result.getNext());
+        assertEquals(created, next.getCreated());
+        assertEquals(user.getId(), next.getId());
+    }
+
+    @Test
+    void testGetAllUsers_WithCursor() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 10, 30);
+        UUID lastId = UUID.randomUUID();
+        String cursor = new UserCursor(created, lastId).encode();
+        List<UserListView> views = Arrays.asList(buildListView(user.getId(), created.plusSeconds(1)));
+
+        when(pageSizePolicy.resolve(10)).thenReturn(10);
+        when(userRepository.findPageAfter(eq(created), eq(lastId), any(Pageable.class))).thenReturn(views);
+        when(userRepository.findPhonesByUserIds(anyList())).thenReturn(new ArrayList<>());
+        when(userMapper.toListResponseDTOList(eq(views), anyList()))
+                .thenReturn(Arrays.asList(new UserListResponseDTO()));
+
+        UserPageResponseDTO result = userService.getAllUsers(userService.getUserPage(cursor, 10));
+
+        assertEquals(1, result.getUsers().size());
+        assertNull(result.getNext());
+        verify(userRepository, never()).findFirstPage(any(Pageable.class));
+    }
+
+    @Test
+    void testGetUserPage_VersionChangesWithContent() {
+        UserListView view = buildListView(user.getId(), LocalDateTime.of(2024, 1, 15, 10, 30));
+        UserListView modified = new UserListView(view.getId(), view.getName(), view.getEmail(), view.getCreated(),
+                view.getModified().plusSeconds(1), view.getIsActive(), view.getLastLogin());
+
+        when(pageSizePolicy.resolve(null)).thenReturn(20);
+        when(userRepository.findFirstPage(any(Pageable.class)))
+                .thenReturn(Arrays.asList(view), Arrays.asList(view), Arrays.asList(modified));
+
+        String first = userService.getUserPage(null, null).version().getEtag();
+        String same = userService.getUserPage(null, null).version().getEtag();
+        String changed = userService.getUserPage(null, null).version().getEtag();
+
+        assertEquals(first, same);
+        assertNotEquals(first, changed);
+        verify(userRepository, never()).findPhonesByUserIds(anyList());
+    }
+
+    @Test
+    void testGetAllUsers_InvalidCursor() {
+        when(pageSizePolicy.resolve(null)).thenReturn(20);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            userService.getUserPage("no-es-un-cursor", null);
+        });
+
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -252,6 +401,7 @@ class UserServiceTest {
         assertEquals(userId, result.getId());
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).save(user);
+        verify(jwtService, times(1)).revokeAllTokens("juan@rodriguez.cl");
     }
 
     @Test
@@ -292,6 +442,98 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void testCreateUser_HashingBusy() {
+        doNothing().when(validator).validate(any(UserRequestDTO.class));
+        when(jwtService.generateToken(anyString())).thenReturn("test-token");
+        when(userFactory.createUser(any(UserRequestDTO.class), anyString()))
+                .thenThrow(new PasswordHashingBusyException("Demasiadas solicitudes", 1));
+
+        assertThrows(PasswordHashingBusyException.class, () -> userService.createUser(userRequest));
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLogin_Success() {
+        user.setPassword("hash");
+        user.setIsActive(true);
+        when(userRepository.findByEmail("juan@rodriguez.cl")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("hunter22", "hash")).thenReturn(true);
+        when(jwtService.generateToken("juan@rodriguez.cl")).thenReturn("login-token");
+        when(userMapper.toResponseDTO(user)).thenReturn(userResponse);
+
+        UserResponseDTO result = userService.login(new LoginRequestDTO("juan@rodriguez.cl", "hunter22"));
+
+        assertSame(userResponse, result);
+        assertEquals("login-token", user.getToken());
+        assertNull(user.getLastLogin());
+        assertNotNull(result.getLastLogin());
+        verify(lastLoginRecorder, times(1)).record("juan@rodriguez.cl", result.getLastLogin());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLogin_RehashesOutdatedPassword() {
+        user.setPassword("legacy-hash");
+        user.setIsActive(true);
+        when(userRepository.findByEmail("juan@rodriguez.cl")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("hunter22", "legacy-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacy-hash")).thenReturn(true);
+        when(passwordEncoder.encode("hunter22")).thenReturn("{bcrypt}new-hash");
+        when(jwtService.generateToken("juan@rodriguez.cl")).thenReturn("login-token");
+        when(userMapper.toResponseDTO(user)).thenReturn(userResponse);
+
+        userService.login(new LoginRequestDTO("juan@rodriguez.cl", "hunter22"));
+
+        assertEquals("{bcrypt}new-hash", user.getPassword());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLogin_WrongPassword() {
+        user.setPassword("hash");
+        user.setIsActive(true);
+        when(userRepository.findByEmail("juan@rodriguez.cl")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.login(new LoginRequestDTO("juan@rodriguez.cl", "wrong")));
+
+        verify(jwtService, never()).generateToken(anyString());
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(lastLoginRecorder);
+    }
+
+    @Test
+    void testLogin_UnknownOrInactiveUser() {
+        user.setPassword("hash");
+        user.setIsActive(false);
+        when(userRepository.findByEmail("juan@rodriguez.cl")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("nadie@rodriguez.cl")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.login(new LoginRequestDTO("juan@rodriguez.cl", "hunter22")));
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.login(new LoginRequestDTO("nadie@rodriguez.cl", "hunter22")));
+
+        verify(passwordEncoder, times(2)).matches(eq("hunter22"), any());
+        verify(passwordEncoder, never()).matches(anyString(), eq(user.getPassword()));
+        verify(jwtService, never()).generateToken(anyString());
+    }
+
+    @Test
+    void testLogin_HashingBusy() {
+        user.setPassword("hash");
+        user.setIsActive(true);
+        when(userRepository.findByEmail("juan@rodriguez.cl")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("hunter22", "hash"))
+                .thenThrow(new PasswordHashingBusyException("Demasiadas solicitudes", 1));
+
+        assertThrows(PasswordHashingBusyException.class,
+                () -> userService.login(new LoginRequestDTO("juan@rodriguez.cl", "hunter22")));
+    }
+
     @Test
     void testChangePassword_Success() {
         UUID userId = UUID.randomUUID();
@@ -312,6 +554,7 @@ class UserServiceTest {
         assertEquals("Contraseña cambiada con éxito", result.getMensaje());
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).save(user);
+        verify(jwtService, times(1)).revokeAllTokens(user.getEmail());
     }
 
     @Test
@@ -348,6 +591,7 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, never()).save(any(User.class));
+        verify(jwtService, never()).revokeAllTokens(anyString());
     }
 
     @Test
@@ -355,29 +599,41 @@ class UserServiceTest {
         UUID userId = UUID.randomUUID();
         user.setId(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).delete(user);
+        when(userRepository.deleteByIdReturningEmail(userId)).thenReturn(Optional.of("juan@rodriguez.cl"));
 
         DeleteUserResponseDTO result = userService.deleteUser(userId);
 
         assertNotNull(result);
         assertEquals("Usuario eliminado con éxito", result.getMensaje());
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).delete(user);
+        verify(userRepository, never()).findById(any(UUID.class));
+        verify(jwtService, times(1)).revokeAllTokens("juan@rodriguez.cl");
+        verify(userEntityCache, times(1)).evict(userId);
+        verify(emailBloomFilter, times(1)).markStale();
     }
 
     @Test
     void testDeleteUser_UserNotFound() {
         UUID userId = UUID.randomUUID();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.deleteByIdReturningEmail(userId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
             userService.deleteUser(userId);
         });
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).delete(any(User.class));
+        verify(jwtService, never()).revokeAllTokens(anyString());
+        verify(userEntityCache, never()).evict(any(UUID.class));
+        verify(emailBloomFilter, never()).markStale();
+    }
+
+    @Test
+    void testLogout_RevokesToken() {
+        when(jwtService.revokeToken("session-token")).thenReturn(true);
+
+        LogoutResponseDTO result = userService.logout("session-token");
+
+        assertEquals("Sesión cerrada con éxito", result.getMensaje());
+        verify(jwtService, times(1)).revokeToken("session-token");
     }
 
     @Test
@@ -397,16 +653,17 @@ class UserServiceTest {
         when(userRepository.findById(userId)).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(RuntimeException.class, () -> {
-            userService.getUserById(userId);
+            userService.getUserById(userId, version -> false);
         });
     }
 
     @Test
     void testGetAllUsers_GenericException() {
-        when(userRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(pageSizePolicy.resolve(null)).thenReturn(20);
+        when(userRepository.findFirstPage(any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(RuntimeException.class, () -> {
-            userService.getAllUsers();
+            userService.getUserPage(null, null);
         });
     }
 
@@ -451,8 +708,7 @@ class UserServiceTest {
         UUID userId = UUID.randomUUID();
         user.setId(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        doThrow(new RuntimeException("Database error")).when(userRepository).delete(user);
+        when(userRepository.deleteByIdReturningEmail(userId)).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(RuntimeException.class, () -> {
             userService.deleteUser(userId);
@@ -476,11 +732,6 @@ class UserServiceTest {
         updateRequest.setPhones(new ArrayList<>());
         updateRequest.getPhones().add(phoneDTO);
 
-        Phone phone = new Phone();
-        phone.setNumber("1111111");
-        phone.setCitycode("2");
-        phone.setCountrycode("56");
-
         UserUpdateResponseDTO updateResponse = new UserUpdateResponseDTO();
         updateResponse.setId(userId);
         updateResponse.setName("Juan Rodriguez Actualizado");
@@ -488,14 +739,13 @@ class UserServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         doNothing().when(updateValidator).validate(updateRequest);
         doNothing().when(emailDuplicationValidator).validate(anyString());
-        when(userMapper.toPhoneEntity(any(PhoneDTO.class), any(User.class))).thenReturn(phone);
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userMapper.toUpdateResponseDTO(user)).thenReturn(updateResponse);
 
         UserUpdateResponseDTO result = userService.updateUser(userId, updateRequest);
 
         assertNotNull(result);
-        verify(userMapper, times(1)).toPhoneEntity(any(PhoneDTO.class), any(User.class));
+        verify(userMapper, times(1)).mergePhones(user, updateRequest.getPhones());
     }
 
     @Test
@@ -547,7 +797,7 @@ class UserServiceTest {
         UserUpdateResponseDTO result = userService.updateUser(userId, updateRequest);
 
         assertNotNull(result);
-        verify(userMapper, never()).toPhoneEntity(any(PhoneDTO.class), any(User.class));
+        verify(userMapper, never()).mergePhones(any(User.class), anyList());
     }
 
     @Test
@@ -574,7 +824,10 @@ class UserServiceTest {
         UserUpdateResponseDTO result = userService.updateUser(userId, updateRequest);
 
         assertNotNull(result);
-        verify(userMapper, never()).toPhoneEntity(any(PhoneDTO.class), any(User.class));
+        verify(userMapper, never()).mergePhones(any(User.class), anyList());
     }
-}
 
+    private UserListView buildListView(UUID id, LocalDateTime created) {
+        return new UserListView(id, "Juan Rodriguez", "juan@rodriguez.cl", created, created, true, created);
+    }
+}
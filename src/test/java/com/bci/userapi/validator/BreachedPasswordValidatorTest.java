@@ -0,0 +1,144 @@
+package com.bci.userapi.validator;
+
+import com.bci.userapi.exception.InvalidPasswordFormatException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreachedPasswordValidatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("breached.bin");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testCheck_RejectsBreachedPasswords() throws Exception {
+        writeHashes(file, 20, "password123", "hunter22", "qwerty12345");
+        BreachedPasswordValidator validator = new BreachedPasswordValidator(file.toString(), 20, meterRegistry);
+
+        ValidationResult result = validator.check("hunter22");
+        assertFalse(result.isValid());
+        assertEquals("La contraseña aparece en filtraciones conocidas", result.getMessage());
+        assertTrue(validator.check("ClaveNuncaFiltrada2024").isValid());
+        assertTrue(validator.check(null).isValid());
+        assertThrows(InvalidPasswordFormatException.class, () -> validator.validate("password123"));
+        assertDoesNotThrow(() -> validator.validate("ClaveNuncaFiltrada2024"));
+
+        assertEquals(3.0, meterRegistry.get("breached.passwords.entries").gauge().value());
+        assertEquals(2.0, meterRegistry.get("breached.passwords.matches").counter().count());
+    }
+
+    @Test
+    void testCheck_TruncatedHashes() throws Exception {
+        writeHashes(file, 6, "password123");
+        BreachedPasswordValidator validator = new BreachedPasswordValidator(file.toString(), 6, meterRegistry);
+
+        assertFalse(validator.check("password123").isValid());
+        assertTrue(validator.check("hunter22").isValid());
+    }
+
+    @Test
+    void testCheck_DisabledWithoutFile() {
+        BreachedPasswordValidator validator = new BreachedPasswordValidator("", 20, meterRegistry);
+
+        assertTrue(validator.check("password123").isValid());
+        assertFalse(validator.reload());
+        assertEquals(0, validator.size());
+    }
+
+    @Test
+    void testReload_PicksUpReplacedFile() throws Exception {
+        writeHashes(file, 20, "password123");
+        BreachedPasswordValidator validator = new BreachedPasswordValidator(file.toString(), 20, meterRegistry);
+        assertTrue(validator.check("hunter22").isValid());
+        assertFalse(validator.reload());
+
+        Path next = tempDir.resolve("breached.bin.tmp");
+        writeHashes(next, 20, "password123", "hunter22");
+        Files.setLastModifiedTime(next, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertTrue(validator.reload());
+        assertFalse(validator.check("hunter22").isValid());
+        assertEquals(2, validator.size());
+        assertEquals(2.0, meterRegistry.get("breached.passwords.reloads").counter().count());
+    }
+
+    @Test
+    void testReload_FileAppearsLater() throws Exception {
+        BreachedPasswordValidator validator = new BreachedPasswordValidator(file.toString(), 20, meterRegistry);
+        assertTrue(validator.check("password123").isValid());
+
+        writeHashes(file, 20, "password123");
+
+        assertTrue(validator.reload());
+        assertFalse(validator.check("password123").isValid());
+    }
+
+    @Test
+    void testReload_KeepsPreviousFileWhenNewOneIsInvalid() throws Exception {
+        writeHashes(file, 20, "password123");
+        BreachedPasswordValidator validator = new BreachedPasswordValidator(file.toString(), 20, meterRegistry);
+
+        Path next = tempDir.resolve("breached.bin.tmp");
+        Files.write(next, new byte[25]);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertFalse(validator.reload());
+        assertFalse(validator.check("password123").isValid());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidHashLength() {
+        assertThrows(IllegalArgumentException.class, () -> new BreachedPasswordValidator("", 0, meterRegistry));
+        assertThrows(IllegalArgumentException.class, () -> new BreachedPasswordValidator("", 21, meterRegistry));
+    }
+
+    private static void writeHashes(Path path, int recordBytes, String... passwords)
+            throws IOException, NoSuchAlgorithmException {
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        byte[][] hashes = new byte[passwords.length][];
+        for (int i = 0; i < passwords.length; i++) {
+            hashes[i] = Arrays.copyOf(sha1.digest(passwords[i].getBytes(StandardCharsets.UTF_8)), recordBytes);
+        }
+        Arrays.sort(hashes, Comparator.comparing(hash -> hash, BreachedPasswordValidatorTest::compareUnsigned));
+        ByteBuffer buffer = ByteBuffer.allocate(passwords.length * recordBytes);
+        for (byte[] hash : hashes) {
+            buffer.put(hash);
+        }
+        Files.write(path, buffer.array());
+    }
+
+    private static int compareUnsigned(byte[] left, byte[] right) {
+        for (int i = 0; i < left.length; i++) {
+            int difference = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+}
@@ -19,6 +19,9 @@ class ChangePasswordRequestValidatorTest {
     @Mock
     private PasswordValidator passwordValidator;
 
+    @Mock
+    private BreachedPasswordValidator breachedPasswordValidator;
+
     @InjectMocks
     private ChangePasswordRequestValidator validator;
 
@@ -37,6 +40,7 @@ class ChangePasswordRequestValidatorTest {
 
         assertDoesNotThrow(() -> validator.validate(request));
         verify(passwordValidator, times(1)).validate(request.getPassword());
+        verify(breachedPasswordValidator, times(1)).validate(request.getPassword());
     }
 
     @Test
@@ -49,6 +53,19 @@ class ChangePasswordRequestValidatorTest {
         });
 
         verify(passwordValidator, times(1)).validate(request.getPassword());
+        verifyNoInteractions(breachedPasswordValidator);
+    }
+
+    @Test
+    void testValidate_BreachedPassword() {
+        doNothing().when(passwordValidator).validate(anyString());
+        doThrow(new InvalidPasswordFormatException("La contraseña aparece en filtraciones conocidas"))
+                .when(breachedPasswordValidator).validate(request.getPassword());
+
+        InvalidPasswordFormatException ex = assertThrows(InvalidPasswordFormatException.class,
+                () -> validator.validate(request));
+
+        assertEquals("La contraseña aparece en filtraciones conocidas", ex.getMessage());
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.bci.userapi.validator;
 
+import com.bci.userapi.bloom.EmailBloomFilter;
 import com.bci.userapi.entity.User;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
 import com.bci.userapi.repository.UserRepository;
@@ -22,6 +23,9 @@ class EmailDuplicationValidatorTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
     @InjectMocks
     private EmailDuplicationValidator validator;
 
@@ -38,32 +42,63 @@ class EmailDuplicationValidatorTest {
 
     @Test
     void testValidate_EmailNotExists() {
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(emailBloomFilter.mightContain(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenReturn(false);
 
         assertDoesNotThrow(() -> validator.validate(email));
-        verify(userRepository, times(1)).findByEmail(email);
+        verify(userRepository, times(1)).existsByEmail(email);
+        verify(emailBloomFilter, times(1)).recordFalsePositive();
+    }
+
+    @Test
+    void testValidate_FilterSaysAbsent_SkipsDatabase() {
+        when(emailBloomFilter.mightContain(email)).thenReturn(false);
+
+        assertDoesNotThrow(() -> validator.validate(email));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void testValidate_EmailExists() {
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(existingUser));
+        when(emailBloomFilter.mightContain(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenReturn(true);
 
         assertThrows(EmailAlreadyExistsException.class, () -> {
             validator.validate(email);
         });
 
-        verify(userRepository, times(1)).findByEmail(email);
+        verify(userRepository, times(1)).existsByEmail(email);
+        verify(emailBloomFilter, never()).recordFalsePositive();
     }
 
     @Test
     void testValidate_GenericException() {
-        when(userRepository.findByEmail(email)).thenThrow(new RuntimeException("Database error"));
+        when(emailBloomFilter.mightContain(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(RuntimeException.class, () -> {
             validator.validate(email);
         });
 
-        verify(userRepository, times(1)).findByEmail(email);
+        verify(userRepository, times(1)).existsByEmail(email);
     }
-}
 
+    @Test
+    void testCheck_EmailExists() {
+        when(emailBloomFilter.mightContain(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenReturn(true);
+
+        ValidationResult result = validator.check(email);
+
+        assertFalse(result.isValid());
+        assertEquals("El correo ya registrado", result.getMessage());
+    }
+
+    @Test
+    void testCheck_FilterSaysAbsent() {
+        when(emailBloomFilter.mightContain(email)).thenReturn(false);
+
+        assertTrue(validator.check(email).isValid());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -36,5 +36,15 @@ class EmailValidatorTest {
             emailValidator.validate(null);
         });
     }
-}
 
+    @Test
+    void testCheck_ReturnsResultWithoutThrowing() {
+        assertTrue(emailValidator.check("juan@rodriguez.cl").isValid());
+        assertNull(emailValidator.check("juan@rodriguez.cl").getMessage());
+
+        ValidationResult result = emailValidator.check("test@example.com");
+        assertFalse(result.isValid());
+        assertEquals("El formato del correo no es válido", result.getMessage());
+        assertSame(result, emailValidator.check(null));
+    }
+}
@@ -36,5 +36,14 @@ class PasswordValidatorTest {
             passwordValidator.validate(null);
         });
     }
-}
 
+    @Test
+    void testCheck_ReturnsResultWithoutThrowing() {
+        assertTrue(passwordValidator.check("hunter22").isValid());
+
+        ValidationResult result = passwordValidator.check("short");
+        assertFalse(result.isValid());
+        assertEquals("El formato de la contraseña no es válido", result.getMessage());
+        assertSame(result, passwordValidator.check(null));
+    }
+}
@@ -1,93 +1,160 @@
 package com.bci.userapi.validator;
 
+import com.bci.userapi.dto.PhoneDTO;
 import com.bci.userapi.dto.UserRequestDTO;
 import com.bci.userapi.exception.EmailAlreadyExistsException;
-import com.bci.userapi.exception.InvalidEmailFormatException;
-import com.bci.userapi.exception.InvalidPasswordFormatException;
+import com.bci.userapi.exception.RequestValidationException;
+import com.bci.userapi.validator.plan.ValidationError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserRequestValidatorTest {
 
-    @Mock
-    private EmailValidator emailValidator;
-
-    @Mock
-    private PasswordValidator passwordValidator;
+    private final EmailValidator emailValidator = new EmailValidator("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.cl$");
+    private final PasswordValidator passwordValidator = new PasswordValidator("^[a-zA-Z0-9]{8,}$");
 
     @Mock
     private EmailDuplicationValidator emailDuplicationValidator;
 
-    @InjectMocks
-    private UserRequestValidator validator;
+    @TempDir
+    Path tempDir;
 
+    private BreachedPasswordValidator breachedPasswordValidator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserRequestValidator validator;
     private UserRequestDTO userRequest;
 
     @BeforeEach
-    void setUp() {
-        userRequest = new UserRequestDTO();
-        userRequest.setName("Juan Rodriguez");
-        userRequest.setEmail("juan@rodriguez.cl");
-        userRequest.setPassword("hunter123");
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        Path breached = tempDir.resolve("breached.bin");
+        Files.write(breached, MessageDigest.getInstance("SHA-1").digest("password123".getBytes(StandardCharsets.UTF_8)));
+        breachedPasswordValidator = new BreachedPasswordValidator(breached.toString(), 20, meterRegistry);
+        validator = new UserRequestValidator(emailValidator, passwordValidator, breachedPasswordValidator,
+                emailDuplicationValidator, meterRegistry, EmailUniquenessCheck.QUERY);
+        userRequest = new UserRequestDTO("Juan Rodriguez", "juan@rodriguez.cl", "hunter123",
+                new ArrayList<>(Collections.singletonList(new PhoneDTO("1234567", "1", "57"))));
     }
 
     @Test
     void testValidate_Success() {
-        doNothing().when(emailValidator).validate(anyString());
-        doNothing().when(passwordValidator).validate(anyString());
-        doNothing().when(emailDuplicationValidator).validate(anyString());
-
         assertDoesNotThrow(() -> validator.validate(userRequest));
 
-        verify(emailValidator, times(1)).validate(userRequest.getEmail());
-        verify(passwordValidator, times(1)).validate(userRequest.getPassword());
         verify(emailDuplicationValidator, times(1)).validate(userRequest.getEmail());
+        assertEquals(1, meterRegistry.get("validation.rule.duration").tag("rule", "email.unique").timer().count());
+        assertEquals(1, meterRegistry.get("validation.rule.duration").tag("rule", "email.format").timer().count());
     }
 
     @Test
     void testValidate_InvalidEmail() {
-        doThrow(new InvalidEmailFormatException("El formato del correo no es válido"))
-                .when(emailValidator).validate(anyString());
+        userRequest.setEmail("juan@rodriguez.com");
 
-        assertThrows(InvalidEmailFormatException.class, () -> {
-            validator.validate(userRequest);
-        });
+        RequestValidationException ex = assertThrows(RequestValidationException.class,
+                () -> validator.validate(userRequest));
 
-        verify(passwordValidator, never()).validate(anyString());
+        assertEquals("El formato del correo no es válido", ex.getMessage());
+        assertEquals(Collections.singletonList(new ValidationError("email", "El formato del correo no es válido")),
+                ex.getErrors());
         verify(emailDuplicationValidator, never()).validate(anyString());
     }
 
     @Test
-    void testValidate_InvalidPassword() {
-        doNothing().when(emailValidator).validate(anyString());
-        doThrow(new InvalidPasswordFormatException("El formato de la contraseña no es válido"))
-                .when(passwordValidator).validate(anyString());
+    void testValidate_CollectsAllFieldErrors() {
+        userRequest.setName(" ");
+        userRequest.setEmail("");
+        userRequest.setPassword("corta");
+        userRequest.setPhones(Collections.singletonList(new PhoneDTO("1234567", "", "57")));
+
+        RequestValidationException ex = assertThrows(RequestValidationException.class,
+                () -> validator.validate(userRequest));
+
+        assertEquals(Arrays.asList(
+                new ValidationError("name", "El nombre es requerido"),
+                new ValidationError("email", "El correo es requerido"),
+                new ValidationError("password", "El formato de la contraseña no es válido"),
+                new ValidationError("phones", "El código de ciudad es requerido")), ex.getErrors());
+        assertEquals(0, meterRegistry.get("validation.rule.duration").tag("rule", "email.format").timer().count());
+        assertEquals(1.0, meterRegistry.get("validation.rule.failures").tag("rule", "name.required").counter().count());
+        verify(emailDuplicationValidator, never()).validate(anyString());
+    }
 
-        assertThrows(InvalidPasswordFormatException.class, () -> {
-            validator.validate(userRequest);
-        });
+    @Test
+    void testValidate_MissingPhones() {
+        userRequest.setPhones(null);
 
-        verify(emailDuplicationValidator, never()).validate(anyString());
+        RequestValidationException ex = assertThrows(RequestValidationException.class,
+                () -> validator.validate(userRequest));
+
+        assertEquals("Debe incluir al menos un teléfono", ex.getMessage());
+        assertEquals(1, ex.getErrors().size());
     }
 
     @Test
     void testValidate_EmailAlreadyExists() {
-        doNothing().when(emailValidator).validate(anyString());
-        doNothing().when(passwordValidator).validate(anyString());
         doThrow(new EmailAlreadyExistsException("El correo ya registrado"))
                 .when(emailDuplicationValidator).validate(anyString());
 
         assertThrows(EmailAlreadyExistsException.class, () -> {
             validator.validate(userRequest);
         });
+        assertEquals(1.0, meterRegistry.get("validation.rule.failures").tag("rule", "email.unique").counter().count());
     }
-}
 
+    @Test
+    void testCheck_SkipsExpensiveRules() {
+        userRequest.setPassword(null);
+
+        assertEquals(Collections.singletonList(new ValidationError("password", "La contraseña es requerida")),
+                validator.check(userRequest));
+        assertTrue(validator.check(new UserRequestDTO("Ana", "ana@rodriguez.cl", "hunter123",
+                Collections.singletonList(new PhoneDTO("1", "1", "57")))).isEmpty());
+        verifyNoInteractions(emailDuplicationValidator);
+    }
+
+    @Test
+    void testValidate_ChecksEmailBeforeInsert() {
+        assertDoesNotThrow(() -> validator.validate(userRequest));
+
+        verify(emailDuplicationValidator).validate("juan@rodriguez.cl");
+    }
+
+    @Test
+    void testValidate_ConstraintModeSkipsDuplicateQuery() {
+        UserRequestValidator constraintValidator = new UserRequestValidator(emailValidator, passwordValidator,
+                breachedPasswordValidator, emailDuplicationValidator, meterRegistry, EmailUniquenessCheck.CONSTRAINT);
+
+        assertDoesNotThrow(() -> constraintValidator.validate(userRequest));
+
+        verifyNoInteractions(emailDuplicationValidator);
+    }
+
+    @Test
+    void testValidate_BreachedPassword() {
+        userRequest.setPassword("password123");
+
+        RequestValidationException ex = assertThrows(RequestValidationException.class,
+                () -> validator.validate(userRequest));
+
+        assertEquals(Collections.singletonList(
+                new ValidationError("password", "La contraseña aparece en filtraciones conocidas")), ex.getErrors());
+        verify(emailDuplicationValidator, never()).validate(anyString());
+    }
+}
@@ -0,0 +1,164 @@
+package com.bci.userapi.validator.pattern;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternCompilerTest {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.cl$";
+    private static final String PASSWORD_REGEX = "^[a-zA-Z0-9]{8,}$";
+
+    private static final String[] SUPPORTED = {
+            EMAIL_REGEX,
+            PASSWORD_REGEX,
+            "",
+            "^$",
+            "[^@\\s]+@[^@\\s]+\\.[a-z]{2,3}",
+            "^\\w+\\.\\W\\d?\\D*\\S\\s+$",
+            "a.c",
+            "x?y*z+",
+            "[a-c]{0,3}b{2}.{1,4}?",
+            "[-a][a-][^-a]\\-",
+            "[\\d\\w_.][\\]\\[\\\\]",
+            "ñ[á-ú]+😀?\\.",
+            "ab\\$",
+            "a\\\\$",
+            "[\\t\\n\\r\\f ]\\t",
+            "a*?b+?c??",
+            "^[a-zA-Z0-9]{8,16}$"
+    };
+
+    private static final String[] UNSUPPORTED = {
+            "(a|b)+",
+            "a|b",
+            "a++",
+            "\\bfoo",
+            "[a-z&&[^e]]",
+            "(?i)abc",
+            "a{64}",
+            "\\p{L}+",
+            "\\u00f1",
+            "\\1",
+            "[a-c-e]",
+            "a$b",
+            "[\\D]"
+    };
+
+    private static final int[] ALPHABET = {
+            'a', 'b', 'c', 'e', 'x', 'y', 'z', 'A', 'Z', '0', '5', '9', '_', '.', '@', '-', '%', '+', '$', '\\',
+            '[', ']', ' ', '\t', '\n', '\r', 0x0B, '\f', 0x85, 0x2028, 'ñ', 'á', 'ú', 'é', 0x1F600, 0xD83D, 0xDE00
+    };
+
+    @Test
+    void testCompile_SupportedSubsetUsesScanner() {
+        for (String regex : SUPPORTED) {
+            assertTrue(PatternCompiler.compile(regex) instanceof ScanningMatcher, regex);
+        }
+    }
+
+    @Test
+    void testCompile_UnsupportedFallsBackToPattern() {
+        for (String regex : UNSUPPORTED) {
+            StringMatcher matcher = PatternCompiler.compile(regex);
+            assertTrue(matcher instanceof RegexMatcher, regex);
+        }
+        assertTrue(PatternCompiler.compile("(a|b)+").matches("abba"));
+        assertFalse(PatternCompiler.compile("(a|b)+").matches("abc"));
+    }
+
+    @Test
+    void testCompile_InvalidRegexStillFails() {
+        assertThrows(PatternSyntaxException.class, () -> PatternCompiler.compile("[a-z"));
+        assertThrows(PatternSyntaxException.class, () -> PatternCompiler.compile("+a"));
+    }
+
+    @Test
+    void testMatches_ConfiguredPatterns() {
+        StringMatcher email = PatternCompiler.compile(EMAIL_REGEX);
+        assertTrue(email.matches("juan@rodriguez.cl"));
+        assertTrue(email.matches("a.b+c@sub.domain.cl"));
+        assertTrue(email.matches("a@b.c.cl"));
+        assertFalse(email.matches("juan@rodriguez.com"));
+        assertFalse(email.matches("juan@rodriguez.cl\n"));
+        assertFalse(email.matches("@rodriguez.cl"));
+        assertFalse(email.matches("juañ@rodriguez.cl"));
+
+        StringMatcher password = PatternCompiler.compile(PASSWORD_REGEX);
+        assertTrue(password.matches("hunter22"));
+        assertTrue(password.matches("abcdefghijklmnopqrstuvwxyz0123456789"));
+        assertFalse(password.matches("hunter2"));
+        assertFalse(password.matches("hunter22!"));
+    }
+
+    @Test
+    void testMatches_DifferentialAgainstPattern() {
+        Random random = new Random(20240115L);
+        int accepted = 0;
+        for (String regex : SUPPORTED) {
+            Pattern pattern = Pattern.compile(regex);
+            StringMatcher matcher = PatternCompiler.compile(regex);
+            int[] symbols = regex.codePoints().toArray();
+            for (int i = 0; i < 20_000; i++) {
+                String input = randomInput(random, symbols);
+                boolean expected = pattern.matcher(input).matches();
+                assertEquals(expected, matcher.matches(input), () -> "regex " + regex + " con entrada " + escape(input));
+                accepted += expected ? 1 : 0;
+            }
+        }
+        assertTrue(accepted > 1000, "entradas aceptadas: " + accepted);
+    }
+
+    @Test
+    void testMatches_DifferentialNearValidEmails() {
+        Random random = new Random(42L);
+        Pattern pattern = Pattern.compile(EMAIL_REGEX);
+        StringMatcher matcher = PatternCompiler.compile(EMAIL_REGEX);
+        String[] seeds = {"juan@rodriguez.cl", "a.b+c@sub.domain.cl", "x_y%z@d-e.cl", "a@b.cl"};
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder input = new StringBuilder(seeds[random.nextInt(seeds.length)]);
+            for (int edits = random.nextInt(3); edits > 0; edits--) {
+                int at = random.nextInt(input.length() + 1);
+                String symbol = new String(Character.toChars(ALPHABET[random.nextInt(ALPHABET.length)]));
+                switch (random.nextInt(3)) {
+                    case 0:
+                        input.insert(at, symbol);
+                        break;
+                    case 1:
+                        if (at < input.length()) {
+                            input.deleteCharAt(at);
+                        }
+                        break;
+                    default:
+                        if (at < input.length()) {
+                            input.replace(at, at + 1, symbol);
+                        }
+                }
+            }
+            String candidate = input.toString();
+            assertEquals(pattern.matcher(candidate).matches(), matcher.matches(candidate), () -> escape(candidate));
+        }
+    }
+
+    private static String randomInput(Random random, int[] symbols) {
+        StringBuilder input = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            int[] source = symbols.length > 0 && random.nextBoolean() ? symbols : ALPHABET;
+            input.appendCodePoint(source[random.nextInt(source.length)]);
+        }
+        return input.toString();
+    }
+
+    private static String escape(String input) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : input.toCharArray()) {
+            escaped.append(c < 0x20 || c > 0x7E ? String.format("\\u%04X", (int) c) : String.valueOf(c));
+        }
+        return escaped.toString();
+    }
+}
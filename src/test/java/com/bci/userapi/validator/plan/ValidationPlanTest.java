@@ -0,0 +1,76 @@
+package com.bci.userapi.validator.plan;
+
+import com.bci.userapi.exception.RequestValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationPlanTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger expensiveCalls;
+    private ValidationPlan<String[]> plan;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expensiveCalls = new AtomicInteger();
+        plan = ValidationPlan.<String[]>builder("test", meterRegistry)
+                .require("first", values -> values[0], "first requerido")
+                .check("first", "length", values -> values[0].length() <= 3, "first muy largo")
+                .require("second", values -> values[1], "second requerido")
+                .check("second", "digits", values -> values[1].matches("\\d+") ? null : "second no numérico")
+                .then("remote", values -> {
+                    expensiveCalls.incrementAndGet();
+                    if ("000".equals(values[1])) {
+                        throw new IllegalStateException("remoto");
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    void testCheck_ValidTargetHasNoErrors() {
+        assertTrue(plan.check(new String[]{"abc", "123"}).isEmpty());
+        assertEquals(0, expensiveCalls.get());
+    }
+
+    @Test
+    void testCheck_OneErrorPerFieldInRuleOrder() {
+        assertEquals(Arrays.asList(
+                new ValidationError("first", "first requerido"),
+                new ValidationError("second", "second no numérico")),
+                plan.check(new String[]{null, "x"}));
+
+        assertEquals(1.0, meterRegistry.get("validation.rule.failures").tag("rule", "first.required").counter().count());
+        assertEquals(0, meterRegistry.get("validation.rule.duration").tag("rule", "first.length").timer().count());
+        assertEquals(1, meterRegistry.get("validation.rule.duration").tag("plan", "test")
+                .tag("rule", "second.digits").timer().count());
+    }
+
+    @Test
+    void testValidate_ExpensiveStepsOnlyAfterCheapChecksPass() {
+        RequestValidationException ex = assertThrows(RequestValidationException.class,
+                () -> plan.validate(new String[]{"abcd", ""}));
+        assertEquals("first muy largo", ex.getMessage());
+        assertEquals(2, ex.getErrors().size());
+        assertEquals(0, expensiveCalls.get());
+
+        plan.validate(new String[]{"abc", "123"});
+        assertEquals(1, expensiveCalls.get());
+        assertEquals(1, meterRegistry.get("validation.rule.duration").tag("rule", "remote").timer().count());
+    }
+
+    @Test
+    void testValidate_ExpensiveFailurePropagates() {
+        assertThrows(IllegalStateException.class, () -> plan.validate(new String[]{"abc", "000"}));
+
+        assertEquals(1.0, meterRegistry.get("validation.rule.failures").tag("rule", "remote").counter().count());
+        assertEquals(1, meterRegistry.get("validation.rule.duration").tag("rule", "remote").timer().count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.bci.userapi.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionTest {
+
+    @Test
+    void testOf_EtagFromModified() {
+        LocalDateTime modified = LocalDateTime.of(1970, 1, 1, 0, 0, 1, 500000);
+
+        ResourceVersion version = ResourceVersion.of(modified);
+
+        assertEquals("\"1000500\"", version.getEtag());
+        assertEquals(modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), version.getLastModified());
+    }
+
+    @Test
+    void testOf_IgnoresSubMicrosecondPrecision() {
+        LocalDateTime stored = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000);
+        LocalDateTime inMemory = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456789);
+
+        assertEquals(ResourceVersion.of(stored).getEtag(), ResourceVersion.of(inMemory).getEtag());
+    }
+
+    @Test
+    void testOfContent() {
+        ResourceVersion version = ResourceVersion.ofContent("a");
+
+        assertEquals(version.getEtag(), ResourceVersion.ofContent("a").getEtag());
+        assertNotEquals(version.getEtag(), ResourceVersion.ofContent("b").getEtag());
+        assertTrue(version.getEtag().startsWith("\"") && version.getEtag().endsWith("\""));
+        assertEquals(-1, version.getLastModified());
+    }
+}